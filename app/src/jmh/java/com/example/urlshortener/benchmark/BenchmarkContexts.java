@@ -0,0 +1,49 @@
+package com.example.urlshortener.benchmark;
+
+import com.example.urlshortener.UrlShortenerApplication;
+import com.example.urlshortener.domain.User;
+import com.example.urlshortener.service.BatchItemResult;
+import com.example.urlshortener.service.UrlService;
+import com.example.urlshortener.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against the embedded H2 database from {@code application-test.yml} for
+ * benchmarks that need real repositories and services.
+ */
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(UrlShortenerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "app.codes.block-size=100000")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Registers a user and stores {@code count} links for it, returning their codes.
+     */
+    public static String[] seedLinks(ConfigurableApplicationContext context, int count) {
+        User owner = context.getBean(UserService.class).register("bench@example.com", "benchmark-password");
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            urls.add("https://example.com/articles/" + i + "?utm_source=benchmark");
+        }
+        List<BatchItemResult> results = context.getBean(UrlService.class).createShortUrls(owner.getId(), urls);
+        return results.stream()
+                .map(result -> result.shortUrl().getCode())
+                .toArray(String[]::new);
+    }
+}
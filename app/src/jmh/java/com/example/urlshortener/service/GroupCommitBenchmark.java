@@ -0,0 +1,63 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.benchmark.BenchmarkContexts;
+import com.example.urlshortener.domain.ShortUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UrlService.createShortUrl} from 32 concurrent callers, one transaction per call versus
+ * group commit. Sample mode reports the per-call latency distribution alongside throughput. H2 in
+ * memory has no commit fsync, which is the cost group commit shares, so measure against PostgreSQL by
+ * pointing the forked JVM at one with {@code -jvmArgsAppend -Dspring.datasource.url=...} (plus
+ * username, password and driver class).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class GroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private UrlService urlService;
+    private UUID ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("app.group-commit.enabled=" + groupCommit);
+        urlService = context.getBean(UrlService.class);
+        ownerId = context.getBean(UserService.class).register("bench@example.com", "benchmark-password").getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ShortUrl createShortUrl() {
+        return urlService.createShortUrl(ownerId, "https://example.com/articles/42?utm_source=benchmark");
+    }
+}
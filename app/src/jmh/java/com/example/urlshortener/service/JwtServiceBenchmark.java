@@ -0,0 +1,87 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost. {@code authenticateLegacy} reproduces the previous filter, which
+ * built a parser and verified the signature three times per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "bXlzdXBlcnNlY3JldGtleW15c3VwZXJzZWNyZXRrZXk=";
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private User user;
+    private Key signingKey;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3600, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        uncachedJwtService = new JwtService(SECRET, 3600, 0, Duration.ZERO, new SimpleMeterRegistry());
+        user = new User("bench@example.com", "unused");
+        ReflectionTestUtils.setField(user, "id", UUID.randomUUID());
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractSubject() {
+        return jwtService.parseClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public Claims authenticateCached() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims authenticateUncached() {
+        return uncachedJwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public void authenticateLegacy(Blackhole blackhole) {
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.benchmark.BenchmarkContexts;
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.repository.ShortUrlRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redirect lookup against embedded H2 under 8 concurrent threads: the full-entity query the redirect
+ * path used before, the scalar projection that backs the cache, and the cached path the redirect
+ * filter uses. The entity query lives only here so nothing in the application reuses it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RedirectLookupBenchmark {
+
+    private static final int LINKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private UrlService urlService;
+    private ShortUrlRepository shortUrlRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private String[] codes;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String nextCode(String[] codes) {
+            next = next + 1 == codes.length ? 0 : next + 1;
+            return codes[next];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start();
+        urlService = context.getBean(UrlService.class);
+        shortUrlRepository = context.getBean(ShortUrlRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        codes = BenchmarkContexts.seedLinks(context, LINKS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ShortUrl entityLookup(Cursor cursor) {
+        String code = cursor.nextCode(codes);
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select s from ShortUrl s where s.code = :code and s.active = true", ShortUrl.class)
+                .setParameter("code", code)
+                .getSingleResult());
+    }
+
+    @Benchmark
+    public Optional<RedirectTarget> projectionLookup(Cursor cursor) {
+        return shortUrlRepository.findActiveRedirectByCode(cursor.nextCode(codes));
+    }
+
+    @Benchmark
+    public Optional<RedirectTarget> cachedLookup(Cursor cursor) {
+        return urlService.resolveRedirect(cursor.nextCode(codes));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.benchmark.BenchmarkContexts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortCodeGeneratorBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ShortCodeGenerator generator;
+    private ShortCodeGenerator scrambled;
+    private ShortCodeGenerator plain;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start();
+        generator = context.getBean(ShortCodeGenerator.class);
+        scrambled = new ShortCodeGenerator(null, "benchmark-scramble-key");
+        plain = new ShortCodeGenerator(null, "");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    public String encodeScrambled() {
+        return scrambled.encode(++id);
+    }
+
+    @Benchmark
+    public String encodePlain() {
+        return plain.encode(++id);
+    }
+}
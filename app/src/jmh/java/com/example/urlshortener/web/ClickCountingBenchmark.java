@@ -0,0 +1,98 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.benchmark.BenchmarkContexts;
+import com.example.urlshortener.service.ClickCounter;
+import com.example.urlshortener.service.UrlService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redirect hit latency with and without click counting: 4 threads cycle over 16 hot codes while the
+ * counter flushes every 100 ms, so recording contends with other threads and with the flush. The
+ * filters differ only in their {@link ClickCounter}; with {@code counting=false} it drops every click.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClickCountingBenchmark {
+
+    private static final FilterChain NO_CHAIN = (request, response) -> {
+    };
+
+    @Param({"true", "false"})
+    public boolean counting;
+
+    private ConfigurableApplicationContext context;
+    private RedirectFilter filter;
+    private String[] codes;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        private MockHttpServletRequest[] requests;
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ClickCountingBenchmark benchmark) {
+            requests = new MockHttpServletRequest[benchmark.codes.length];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = new MockHttpServletRequest("GET", "/r/" + benchmark.codes[i]);
+            }
+        }
+
+        MockHttpServletRequest nextRequest() {
+            next = next + 1 == requests.length ? 0 : next + 1;
+            return requests[next];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("app.clicks.flush-interval=100ms");
+        codes = BenchmarkContexts.seedLinks(context, 16);
+        ClickCounter clickCounter = counting
+                ? context.getBean(ClickCounter.class)
+                : new ClickCounter(context.getBean(JdbcTemplate.class)) {
+                    @Override
+                    public void record(String code) {
+                    }
+                };
+        filter = new RedirectFilter(context.getBean(UrlService.class), clickCounter, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int hit(Exchange exchange) throws Exception {
+        exchange.response.reset();
+        filter.doFilter(exchange.nextRequest(), exchange.response, NO_CHAIN);
+        return exchange.response.getStatus();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.benchmark.BenchmarkContexts;
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.exception.ShortUrlNotFoundException;
+import com.example.urlshortener.service.UrlService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Allocation profile of the redirect filter. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} of each path against {@code responseResetBaseline}, which only pays
+ * for recycling the mock response.
+ *
+ * <p>The {@code mockMvc*} benchmarks compare whole requests through the same MockMvc harness: the
+ * filter in front of the security chain, against the path it replaced, where the former
+ * {@code RedirectController} ran behind the security chain and the {@code DispatcherServlet} and a
+ * miss became a {@code ShortUrlNotFoundException} rendered as an {@code ApiError}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RedirectFilterBenchmark {
+
+    private static final FilterChain NO_CHAIN = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext context;
+    private RedirectFilter filter;
+    private MockHttpServletRequest hitRequest;
+    private MockHttpServletRequest unknownRequest;
+    private MockHttpServletRequest malformedRequest;
+    private MockHttpServletResponse response;
+    private MockMvc filterMvc;
+    private MockMvc legacyMvc;
+    private String hitPath;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        context = BenchmarkContexts.start();
+        String[] codes = BenchmarkContexts.seedLinks(context, 1);
+        filter = ((FilterRegistrationBean<RedirectFilter>) context.getBean("redirectFilterRegistration")).getFilter();
+        hitRequest = new MockHttpServletRequest("GET", "/r/" + codes[0]);
+        unknownRequest = new MockHttpServletRequest("GET", "/r/zzzzzzz");
+        malformedRequest = new MockHttpServletRequest("GET", "/r/wp-login.php");
+        response = new MockHttpServletResponse();
+        // Warm the redirect cache so the hit and unknown paths measure steady state.
+        filter.doFilter(hitRequest, response, NO_CHAIN);
+        filter.doFilter(unknownRequest, response, NO_CHAIN);
+
+        WebApplicationContext web = (WebApplicationContext) context;
+        Filter securityChain = context.getBean("springSecurityFilterChain", Filter.class);
+        hitPath = "/r/" + codes[0];
+        filterMvc = MockMvcBuilders.webAppContextSetup(web).addFilters(filter, securityChain).build();
+        registerLegacyController();
+        legacyMvc = MockMvcBuilders.webAppContextSetup(web).addFilters(securityChain).build();
+        for (MockMvc mvc : new MockMvc[]{filterMvc, legacyMvc}) {
+            MockHttpServletResponse hit = mvc.perform(get(hitPath)).andReturn().getResponse();
+            MockHttpServletResponse miss = mvc.perform(get("/r/zzzzzzz")).andReturn().getResponse();
+            if (hit.getStatus() != 302 || miss.getStatus() != 404) {
+                throw new IllegalStateException("Unexpected redirect statuses " + hit.getStatus() + "/" + miss.getStatus()
+                        + ": " + miss.getContentAsString());
+            }
+        }
+    }
+
+    private void registerLegacyController() throws NoSuchMethodException {
+        RequestMappingHandlerMapping mapping =
+                context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        mapping.registerMapping(
+                RequestMappingInfo.paths("/r/{code}").methods(RequestMethod.GET)
+                        .options(mapping.getBuilderConfiguration()).build(),
+                new LegacyRedirectController(context.getBean(UrlService.class)),
+                LegacyRedirectController.class.getMethod("redirect", String.class));
+    }
+
+    /**
+     * The controller {@link RedirectFilter} replaced.
+     */
+    public static class LegacyRedirectController {
+
+        private final UrlService urlService;
+
+        LegacyRedirectController(UrlService urlService) {
+            this.urlService = urlService;
+        }
+
+        public ResponseEntity<Void> redirect(@PathVariable("code") String code) {
+            String originalUrl = urlService.resolveRedirect(code)
+                    .map(RedirectTarget::url)
+                    .orElseThrow(() -> new ShortUrlNotFoundException("Short URL not found"));
+            return ResponseEntity.status(302)
+                    .header(HttpHeaders.LOCATION, originalUrl)
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int responseResetBaseline() {
+        response.reset();
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int hit() throws Exception {
+        response.reset();
+        filter.doFilter(hitRequest, response, NO_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int unknownCode() throws Exception {
+        response.reset();
+        filter.doFilter(unknownRequest, response, NO_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int malformedCode() throws Exception {
+        response.reset();
+        filter.doFilter(malformedRequest, response, NO_CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int mockMvcFilterHit() throws Exception {
+        return filterMvc.perform(get(hitPath)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int mockMvcFilterUnknownCode() throws Exception {
+        return filterMvc.perform(get("/r/zzzzzzz")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int mockMvcLegacyHit() throws Exception {
+        return legacyMvc.perform(get(hitPath)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int mockMvcLegacyUnknownCode() throws Exception {
+        return legacyMvc.perform(get("/r/zzzzzzz")).andReturn().getResponse().getStatus();
+    }
+}
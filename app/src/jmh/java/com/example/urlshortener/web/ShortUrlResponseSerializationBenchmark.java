@@ -0,0 +1,63 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.dto.ShortUrlResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortUrlResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ShortUrlResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for MVC.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = new ArrayList<>(size);
+        Instant now = Instant.now();
+        for (int i = 0; i < size; i++) {
+            responses.add(new ShortUrlResponse(
+                    UUID.randomUUID(),
+                    "https://example.com/articles/" + i + "?utm_source=benchmark",
+                    "http://localhost:8080/r/" + Integer.toString(1_000_000 + i, 36),
+                    true,
+                    now.minusSeconds(i),
+                    i,
+                    RedirectType.TEMPORARY,
+                    0));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
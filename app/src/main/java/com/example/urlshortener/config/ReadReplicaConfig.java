@@ -0,0 +1,77 @@
+package com.example.urlshortener.config;
+
+import com.example.urlshortener.datasource.ReadReplicas;
+import com.example.urlshortener.datasource.RecentWriters;
+import com.example.urlshortener.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with {@code spring.datasource} as the primary and the
+ * {@code app.read-replicas.urls} pools behind a {@link ReplicaRoutingDataSource}. Everything that
+ * injects a {@link DataSource}, including JPA and {@code JdbcTemplate}, gets the routing one.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!StringUtils.hasText(dataSource.getPoolName())) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        List<DataSource> pools = new ArrayList<>();
+        List<String> urls = properties.urls() == null ? List.of() : properties.urls();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            // Pools start on first use, so a replica that is down at startup does not stop the app.
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(properties.username());
+            pool.setPassword(properties.password());
+            pool.setMaximumPoolSize(properties.maxPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReadReplicas(pools, properties.selection(), properties.failureBackoff());
+    }
+
+    @Bean
+    public RecentWriters recentWriters(ReadReplicaProperties properties) {
+        return new RecentWriters(properties.readYourWrites());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicas readReplicas,
+                                 RecentWriters recentWriters, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, readReplicas, recentWriters, meterRegistry));
+    }
+}
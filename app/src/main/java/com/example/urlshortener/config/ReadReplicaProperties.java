@@ -0,0 +1,23 @@
+package com.example.urlshortener.config;
+
+import com.example.urlshortener.datasource.ReadReplicas;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code app.read-replicas.*}: JDBC URLs of the replicas (sharing one set of credentials), how reads
+ * pick among them, and how long reads stay on the primary after a user's own write.
+ */
+@ConfigurationProperties("app.read-replicas")
+public record ReadReplicaProperties(
+        boolean enabled,
+        List<String> urls,
+        String username,
+        String password,
+        int maxPoolSize,
+        ReadReplicas.Selection selection,
+        Duration readYourWrites,
+        Duration failureBackoff) {
+}
@@ -1,10 +1,14 @@
 package com.example.urlshortener.config;
 
+import com.example.urlshortener.security.BoundedPasswordEncoder;
 import com.example.urlshortener.security.JwtAuthenticationFilter;
 import com.example.urlshortener.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -19,12 +23,18 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -33,13 +43,22 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
                                                    JwtAuthenticationFilter jwtAuthenticationFilter,
-                                                   AuthenticationProvider authenticationProvider) throws Exception {
+                                                   AuthenticationProvider authenticationProvider,
+                                                   @Value("${management.server.port}") int managementPort) throws Exception {
+        // Health checks and Prometheus scrapes come in on the management port, which is not published.
+        RequestMatcher managementProbes = new AndRequestMatcher(
+                request -> request.getLocalPort() == managementPort,
+                new OrRequestMatcher(antMatcher("/actuator/health/**"), antMatcher("/actuator/prometheus")));
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(Customizer.withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/register", "/api/login", "/r/**", "/actuator/health").permitAll()
+                        // The export stream finishes on an async dispatch, which the stateless JWT filter does not
+                        // re-authenticate; the request was already authorized when it started.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/api/register", "/api/login", "/r/**").permitAll()
+                        .requestMatchers(managementProbes).permitAll()
                         .requestMatchers(HttpMethod.GET, "/").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -69,9 +88,18 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt on its own bounded pool so login and registration bursts cannot occupy every request
+     * thread; {@code app.password-hashing.threads} of 0 means one thread per available processor.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.threads}") int threads,
+            @Value("${app.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${app.password-hashing.retry-after}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, retryAfter, meterRegistry);
     }
 
     @Bean
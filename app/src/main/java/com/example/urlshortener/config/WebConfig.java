@@ -0,0 +1,37 @@
+package com.example.urlshortener.config;
+
+import com.example.urlshortener.security.JwtAuthenticationFilter;
+import com.example.urlshortener.service.ClickCounter;
+import com.example.urlshortener.service.UrlService;
+import com.example.urlshortener.web.RedirectFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public FilterRegistrationBean<RedirectFilter> redirectFilterRegistration(UrlService urlService,
+                                                                             ClickCounter clickCounter,
+                                                                             MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RedirectFilter> registration =
+                new FilterRegistrationBean<>(new RedirectFilter(urlService, clickCounter, meterRegistry));
+        registration.addUrlPatterns("/r/*");
+        // Runs before the Spring Security filter chain so redirects skip CORS, JWT and security context setup.
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter jwtAuthenticationFilter) {
+        // The filter is a bean only so SecurityConfig can add it to the security chain; keep Boot from
+        // also registering it as a servlet filter for every request.
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.urlshortener.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The replica pools read-only transactions may use. {@link #select()} skips replicas that recently
+ * failed to hand out a connection until {@code failureBackoff} has passed.
+ */
+public class ReadReplicas implements Closeable {
+
+    public enum Selection {
+        ROUND_ROBIN,
+        /**
+         * Fewest active plus waiting connections; pools that are not Hikari count as idle.
+         */
+        LEAST_LOADED
+    }
+
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final long failureBackoffNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicas(List<DataSource> dataSources, Selection selection, Duration failureBackoff) {
+        this.replicas = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            replicas.add(new Replica("replica-" + (i + 1), dataSources.get(i)));
+        }
+        this.selection = selection;
+        this.failureBackoffNanos = failureBackoff.toNanos();
+    }
+
+    /**
+     * Returns a healthy replica, or {@code null} when none is configured or all are backing off.
+     */
+    public Replica select() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (selection == Selection.LEAST_LOADED) {
+            Replica best = null;
+            int bestLoad = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                int load;
+                if (replica.isAvailable(now) && (load = replica.load()) < bestLoad) {
+                    best = replica;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.isAvailable(now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void markFailed(Replica replica) {
+        replica.downUntilNanos = System.nanoTime() + failureBackoffNanos;
+    }
+
+    public int available() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntilNanos;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        private boolean isAvailable(long now) {
+            return downUntilNanos == 0 || now - downUntilNanos >= 0;
+        }
+
+        private int load() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            }
+            return 0;
+        }
+    }
+}
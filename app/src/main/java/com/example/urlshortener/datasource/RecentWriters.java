@@ -0,0 +1,33 @@
+package com.example.urlshortener.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Users whose writes committed within the last {@code window}. {@link ReplicaRoutingDataSource} keeps
+ * their read-only transactions on the primary, so they see their own changes despite replication lag.
+ * Writers are added once their transaction has committed; a zero window disables tracking.
+ */
+public class RecentWriters {
+
+    private final Cache<UUID, Boolean> writers;
+
+    public RecentWriters(Duration window) {
+        this.writers = window.isZero()
+                ? null
+                : Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(window).build();
+    }
+
+    public void add(UUID userId) {
+        if (writers != null) {
+            writers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean contains(UUID userId) {
+        return writers != null && writers.getIfPresent(userId) != null;
+    }
+}
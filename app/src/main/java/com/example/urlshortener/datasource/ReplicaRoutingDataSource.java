@@ -0,0 +1,107 @@
+package com.example.urlshortener.datasource;
+
+import com.example.urlshortener.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere
+ * else. The decision reads the transaction's read-only flag, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; the transaction manager
+ * asks for a connection before that flag is set.
+ *
+ * <p>If a replica cannot hand out a connection, the read falls back to the primary and the replica is
+ * skipped for a while. A signed-in user listed in {@link RecentWriters} reads from the primary, so
+ * their own committed changes are visible despite replication lag.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final ReadReplicas replicas;
+    private final RecentWriters recentWriters;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter replicaFailures;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas, RecentWriters recentWriters,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.recentWriters = recentWriters;
+        this.primaryReads = readCounter(meterRegistry, "primary");
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.replicaFailures = Counter.builder("shortener.datasource.replica.failures")
+                .description("Replica connection attempts that failed and fell back to the primary")
+                .register(meterRegistry);
+        Gauge.builder("shortener.datasource.replicas.available", replicas, ReadReplicas::available)
+                .description("Replicas currently eligible for read-only transactions")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+
+    private Connection connect(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return open(primary, username, password);
+        }
+        UUID user = currentUserId();
+        if (user != null && recentWriters.contains(user)) {
+            primaryReads.increment();
+            return open(primary, username, password);
+        }
+        ReadReplicas.Replica replica = replicas.select();
+        if (replica != null) {
+            try {
+                Connection connection = open(replica.dataSource(), username, password);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicas.markFailed(replica);
+                replicaFailures.increment();
+                log.warn("Read replica {} unavailable, reading from the primary", replica.name(), ex);
+            }
+        }
+        primaryReads.increment();
+        return open(primary, username, password);
+    }
+
+    private static Connection open(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.id()
+                : null;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("shortener.datasource.reads")
+                .description("Connections opened for read-only transactions, by target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
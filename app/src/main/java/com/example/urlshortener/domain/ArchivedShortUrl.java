@@ -0,0 +1,107 @@
+package com.example.urlshortener.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A deactivated link moved out of {@code short_urls} by {@code ShortUrlArchiver}. Rows are written
+ * with plain SQL and never updated; the unique {@code code} keeps archived codes reserved.
+ */
+@Entity
+@Table(name = "archived_short_urls", indexes = {
+        @Index(name = "idx_archived_short_urls_owner", columnList = "owner_id")
+})
+public class ArchivedShortUrl {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, unique = true, length = 16)
+    private String code;
+
+    @Column(name = "original_url", nullable = false, length = 2048)
+    private String originalUrl;
+
+    @Column(name = "short_url", nullable = false, length = 512)
+    private String shortUrl;
+
+    // Plain column rather than a foreign key, so archived rows never block deleting a user.
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "redirect_type", nullable = false, length = 16)
+    private RedirectType redirectType;
+
+    @Column(name = "cache_max_age", nullable = false)
+    private int cacheMaxAge;
+
+    @Column(name = "click_count", nullable = false)
+    private long clickCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // updated_at of the row when it was archived, i.e. when it was deactivated.
+    @Column(name = "deactivated_at", nullable = false)
+    private Instant deactivatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    protected ArchivedShortUrl() {
+        // JPA only
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getOriginalUrl() {
+        return originalUrl;
+    }
+
+    public String getShortUrl() {
+        return shortUrl;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public RedirectType getRedirectType() {
+        return redirectType;
+    }
+
+    public int getCacheMaxAge() {
+        return cacheMaxAge;
+    }
+
+    public long getClickCount() {
+        return clickCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
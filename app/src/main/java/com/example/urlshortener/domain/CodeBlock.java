@@ -0,0 +1,39 @@
+package com.example.urlshortener.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "code_blocks")
+public class CodeBlock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    protected CodeBlock() {
+        // JPA only
+    }
+
+    public CodeBlock(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.urlshortener.domain;
+
+/**
+ * Per-link redirect settings: the status to answer with and how many seconds browsers and CDNs may
+ * reuse the answer (0 makes them revalidate every time).
+ */
+public record RedirectPolicy(RedirectType type, int maxAgeSeconds) {
+}
@@ -2,20 +2,30 @@ package com.example.urlshortener.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "short_urls")
+@Table(name = "short_urls", indexes = {
+        @Index(name = "idx_short_urls_owner_created", columnList = "owner_id, created_at"),
+        @Index(name = "idx_short_urls_updated", columnList = "updated_at"),
+        @Index(name = "idx_short_urls_active_updated", columnList = "active, updated_at"),
+        @Index(name = "idx_short_urls_owner_hash", columnList = "owner_id, url_hash")
+})
 public class ShortUrl {
 
     @Id
@@ -31,16 +41,35 @@ public class ShortUrl {
     @Column(name = "short_url", nullable = false, length = 512)
     private String shortUrl;
 
+    // Truncated SHA-256 of the normalized original URL; null for rows created before it existed.
+    @Column(name = "url_hash", length = 16)
+    private byte[] urlHash;
+
     @Column(nullable = false)
     private boolean active = true;
 
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'TEMPORARY'")
+    @Column(name = "redirect_type", nullable = false, length = 16)
+    private RedirectType redirectType = RedirectType.TEMPORARY;
+
+    // Seconds browsers and CDNs may reuse the redirect; 0 makes them revalidate.
+    @ColumnDefault("0")
+    @Column(name = "cache_max_age", nullable = false)
+    private int cacheMaxAge;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
-    @ManyToOne(optional = false)
+    // Maintained by ClickCounter with direct UPDATEs; never written through the entity.
+    @ColumnDefault("0")
+    @Column(name = "click_count", nullable = false, insertable = false, updatable = false)
+    private long clickCount;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
@@ -48,10 +77,14 @@ public class ShortUrl {
         // JPA only
     }
 
-    public ShortUrl(String code, String originalUrl, String shortUrl, User owner) {
+    public ShortUrl(String code, String originalUrl, String shortUrl, byte[] urlHash, RedirectPolicy redirectPolicy,
+                    User owner) {
         this.code = code;
         this.originalUrl = originalUrl;
         this.shortUrl = shortUrl;
+        this.urlHash = urlHash;
+        this.redirectType = redirectPolicy.type();
+        this.cacheMaxAge = redirectPolicy.maxAgeSeconds();
         this.owner = owner;
     }
 
@@ -91,6 +124,10 @@ public class ShortUrl {
         this.shortUrl = shortUrl;
     }
 
+    public byte[] getUrlHash() {
+        return urlHash;
+    }
+
     public boolean isActive() {
         return active;
     }
@@ -99,6 +136,14 @@ public class ShortUrl {
         this.active = active;
     }
 
+    public RedirectType getRedirectType() {
+        return redirectType;
+    }
+
+    public int getCacheMaxAge() {
+        return cacheMaxAge;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -107,6 +152,10 @@ public class ShortUrl {
         return updatedAt;
     }
 
+    public long getClickCount() {
+        return clickCount;
+    }
+
     public User getOwner() {
         return owner;
     }
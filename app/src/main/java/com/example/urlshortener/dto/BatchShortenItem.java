@@ -0,0 +1,7 @@
+package com.example.urlshortener.dto;
+
+public record BatchShortenItem(
+        int index,
+        ShortUrlResponse shortUrl,
+        String error) {
+}
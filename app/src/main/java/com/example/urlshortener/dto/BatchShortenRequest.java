@@ -0,0 +1,30 @@
+package com.example.urlshortener.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchShortenRequest {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    @NotEmpty
+    @Size(max = MAX_BATCH_SIZE)
+    private List<String> originalUrls;
+
+    public BatchShortenRequest() {
+    }
+
+    public BatchShortenRequest(List<String> originalUrls) {
+        this.originalUrls = originalUrls;
+    }
+
+    public List<String> getOriginalUrls() {
+        return originalUrls;
+    }
+
+    public void setOriginalUrls(List<String> originalUrls) {
+        this.originalUrls = originalUrls;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.urlshortener.dto;
+
+import java.util.List;
+
+public record BatchShortenResponse(
+        int succeeded,
+        int failed,
+        List<BatchShortenItem> items) {
+}
@@ -1,5 +1,7 @@
 package com.example.urlshortener.dto;
 
+import com.example.urlshortener.domain.RedirectType;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -8,6 +10,9 @@ public record ShortUrlResponse(
         String originalUrl,
         String shortUrl,
         boolean active,
-        Instant createdAt) {
+        Instant createdAt,
+        long clickCount,
+        RedirectType redirectType,
+        int cacheMaxAge) {
 }
 
@@ -0,0 +1,51 @@
+package com.example.urlshortener.dto;
+
+import com.example.urlshortener.domain.RedirectType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class ShortenUrlRequest {
+
+    @NotBlank
+    @Size(max = 2048)
+    private String originalUrl;
+
+    private RedirectType redirectType;
+
+    @Min(0)
+    @Max(31_536_000)
+    private Integer cacheMaxAge;
+
+    public ShortenUrlRequest() {
+    }
+
+    public ShortenUrlRequest(String originalUrl) {
+        this.originalUrl = originalUrl;
+    }
+
+    public String getOriginalUrl() {
+        return originalUrl;
+    }
+
+    public void setOriginalUrl(String originalUrl) {
+        this.originalUrl = originalUrl;
+    }
+
+    public RedirectType getRedirectType() {
+        return redirectType;
+    }
+
+    public void setRedirectType(RedirectType redirectType) {
+        this.redirectType = redirectType;
+    }
+
+    public Integer getCacheMaxAge() {
+        return cacheMaxAge;
+    }
+
+    public void setCacheMaxAge(Integer cacheMaxAge) {
+        this.cacheMaxAge = cacheMaxAge;
+    }
+}
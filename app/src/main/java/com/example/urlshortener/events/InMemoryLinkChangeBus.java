@@ -0,0 +1,45 @@
+package com.example.urlshortener.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Delivers changes to this node's listeners only. Enough for a single node and for tests; with
+ * several nodes, the others keep serving cached state until their caches expire.
+ */
+@Component
+@ConditionalOnProperty(name = "app.link-changes.bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLinkChangeBus implements LinkChangeBus {
+
+    private final LinkChangeDispatcher dispatcher;
+    private final Counter published;
+
+    public InMemoryLinkChangeBus(List<LinkChangeListener> listeners, MeterRegistry meterRegistry) {
+        this.dispatcher = new LinkChangeDispatcher(listeners, meterRegistry);
+        this.published = Counter.builder("shortener.link.changes.published")
+                .description("Link changes published to the change bus")
+                .tag("bus", "memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(LinkChange change) {
+        published.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.dispatchLocal(change);
+                }
+            });
+        } else {
+            dispatcher.dispatchLocal(change);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.urlshortener.events;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a short link that nodes holding per-code state must apply. {@code changedAt}
+ * is when the change was published, so delivery lag can be measured against it.
+ */
+public record LinkChange(String code, Type type, Instant changedAt) {
+
+    public enum Type {
+        CREATED,
+        DEACTIVATED
+    }
+
+    public static LinkChange created(String code) {
+        return new LinkChange(code, Type.CREATED, Instant.now());
+    }
+
+    public static LinkChange deactivated(String code) {
+        return new LinkChange(code, Type.DEACTIVATED, Instant.now());
+    }
+}
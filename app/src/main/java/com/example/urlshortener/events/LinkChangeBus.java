@@ -0,0 +1,15 @@
+package com.example.urlshortener.events;
+
+/**
+ * Carries link changes from the node that made them to every node's {@link LinkChangeListener}s.
+ * Selected with {@code app.link-changes.bus}: {@code memory} for a single node, {@code outbox} to
+ * fan out through the {@code link_changes} table.
+ */
+public interface LinkChangeBus {
+
+    /**
+     * Publishes a change. Inside a transaction it is delivered only if and after the transaction
+     * commits; without one it is delivered right away.
+     */
+    void publish(LinkChange change);
+}
@@ -0,0 +1,57 @@
+package com.example.urlshortener.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hands changes to the local listeners and records how long after publication each one arrived.
+ */
+final class LinkChangeDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkChangeDispatcher.class);
+
+    private final List<LinkChangeListener> listeners;
+    private final Timer localLag;
+    private final Timer remoteLag;
+
+    LinkChangeDispatcher(List<LinkChangeListener> listeners, MeterRegistry meterRegistry) {
+        this.listeners = List.copyOf(listeners);
+        this.localLag = lagTimer(meterRegistry, "local");
+        this.remoteLag = lagTimer(meterRegistry, "remote");
+    }
+
+    void dispatchLocal(LinkChange change) {
+        dispatch(change, localLag);
+    }
+
+    void dispatchRemote(LinkChange change) {
+        dispatch(change, remoteLag);
+    }
+
+    private void dispatch(LinkChange change, Timer lag) {
+        for (LinkChangeListener listener : listeners) {
+            try {
+                listener.onLinkChange(change);
+            } catch (RuntimeException ex) {
+                log.warn("Link change listener {} failed for {}", listener.getClass().getSimpleName(), change, ex);
+            }
+        }
+        // Remote lag includes clock skew between nodes; negative values are recorded as zero.
+        Duration elapsed = Duration.between(change.changedAt(), Instant.now());
+        lag.record(elapsed.isNegative() ? Duration.ZERO : elapsed);
+    }
+
+    private static Timer lagTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("shortener.link.changes.lag")
+                .description("Time from publishing a link change to applying it on this node")
+                .tag("source", source)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.urlshortener.events;
+
+/**
+ * Per-node state derived from {@code short_urls} that must follow link changes. Changes may arrive
+ * more than once and out of order across codes, so handlers must be idempotent.
+ */
+public interface LinkChangeListener {
+
+    void onLinkChange(LinkChange change);
+}
@@ -0,0 +1,233 @@
+package com.example.urlshortener.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans link changes out to every node through the {@code link_changes} table. Changes are inserted
+ * in one batch just before the publishing transaction commits, applied locally right after it, and
+ * picked up by the other nodes on their next poll, so they propagate within about one
+ * {@code poll-interval}.
+ *
+ * <p>Nodes read rows after the highest id they have seen. Ids are assigned at insert but become
+ * visible at commit, so a lower id can appear after a higher one; skipped ids are remembered and
+ * re-read on every poll for up to {@code gap-timeout} before they are given up as rolled back. Rows
+ * older than {@code retention} are deleted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.link-changes.bus", havingValue = "outbox")
+public class OutboxLinkChangeBus implements LinkChangeBus {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLinkChangeBus.class);
+
+    private static final String INSERT_SQL =
+            "insert into link_changes (code, change_type, origin, created_at) values (?, ?, ?, ?)";
+    private static final String SELECT_COLUMNS = "select id, code, change_type, origin, created_at from link_changes";
+    private static final String POLL_SQL = SELECT_COLUMNS + " where id > ? order by id limit ?";
+    private static final String GAPS_SQL = SELECT_COLUMNS + " where id in (:ids)";
+    private static final String MAX_ID_SQL = "select coalesce(max(id), 0) from link_changes";
+    private static final String PRUNE_SQL = "delete from link_changes where created_at < ?";
+
+    private static final int MAX_OPEN_GAPS = 10_000;
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong(1),
+            rs.getObject(4, UUID.class),
+            new LinkChange(rs.getString(2), LinkChange.Type.valueOf(rs.getString(3)),
+                    rs.getTimestamp(5).toInstant()));
+
+    // Identifies this node's own rows, which it has already applied when they committed.
+    private final UUID origin = UUID.randomUUID();
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final LinkChangeDispatcher dispatcher;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter received;
+    private final Counter expiredGaps;
+    private final ReentrantLock pollLock = new ReentrantLock();
+    // id -> System.nanoTime() deadline, guarded by pollLock.
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastId = -1;
+    private long nextPruneNanos = System.nanoTime();
+
+    private record Row(long id, UUID origin, LinkChange change) {
+    }
+
+    public OutboxLinkChangeBus(
+            JdbcTemplate jdbcTemplate,
+            List<LinkChangeListener> listeners,
+            MeterRegistry meterRegistry,
+            @Value("${app.link-changes.outbox.batch-size}") int batchSize,
+            @Value("${app.link-changes.outbox.gap-timeout}") Duration gapTimeout,
+            @Value("${app.link-changes.outbox.retention}") Duration retention) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Link change batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.dispatcher = new LinkChangeDispatcher(listeners, meterRegistry);
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.published = Counter.builder("shortener.link.changes.published")
+                .description("Link changes published to the change bus")
+                .tag("bus", "outbox")
+                .register(meterRegistry);
+        this.received = Counter.builder("shortener.link.changes.received")
+                .description("Link changes from other nodes applied on this node")
+                .register(meterRegistry);
+        this.expiredGaps = Counter.builder("shortener.link.changes.gaps.expired")
+                .description("Skipped outbox ids given up after the gap timeout")
+                .register(meterRegistry);
+        Gauge.builder("shortener.link.changes.gaps", this, bus -> bus.gaps.size())
+                .description("Skipped outbox ids still being re-read")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(LinkChange change) {
+        published.increment();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(change));
+            dispatcher.dispatchLocal(change);
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${app.link-changes.outbox.poll-interval}').toMillis()}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            if (lastId < 0) {
+                // Start from the current end: a starting node has no cached state to correct.
+                lastId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+                return;
+            }
+            recheckGaps();
+            List<Row> rows;
+            do {
+                rows = jdbcTemplate.query(POLL_SQL, ROW_MAPPER, lastId, batchSize);
+                for (Row row : rows) {
+                    for (long skipped = lastId + 1; skipped < row.id() && gaps.size() < MAX_OPEN_GAPS; skipped++) {
+                        gaps.put(skipped, System.nanoTime() + gapTimeoutNanos);
+                    }
+                    deliver(row);
+                    lastId = row.id();
+                }
+            } while (rows.size() == batchSize);
+            prune();
+        } catch (DataAccessException ex) {
+            log.warn("Polling link changes failed, retrying on next poll", ex);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void recheckGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (Row row : namedJdbcTemplate.query(GAPS_SQL, Map.of("ids", List.copyOf(gaps.keySet())), ROW_MAPPER)) {
+            gaps.remove(row.id());
+            deliver(row);
+        }
+        long now = System.nanoTime();
+        for (Iterator<Entry<Long, Long>> it = gaps.entrySet().iterator(); it.hasNext(); ) {
+            if (now - it.next().getValue() >= 0) {
+                it.remove();
+                expiredGaps.increment();
+            }
+        }
+    }
+
+    private void deliver(Row row) {
+        if (!origin.equals(row.origin())) {
+            dispatcher.dispatchRemote(row.change());
+            received.increment();
+        }
+    }
+
+    private void prune() {
+        long now = System.nanoTime();
+        if (now - nextPruneNanos < 0) {
+            return;
+        }
+        nextPruneNanos = now + PRUNE_INTERVAL_NANOS;
+        int deleted = jdbcTemplate.update(PRUNE_SQL, Timestamp.from(Instant.now().minus(retention)));
+        if (deleted > 0) {
+            log.debug("Pruned {} link changes older than {}", deleted, retention);
+        }
+    }
+
+    private void insert(List<LinkChange> changes) {
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (LinkChange change : changes) {
+            rows.add(new Object[]{change.code(), change.type().name(), origin, Timestamp.from(change.changedAt())});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Changes published in one transaction: written together just before it commits, so the rows
+     * become visible almost as soon as their ids are assigned, and applied locally once it has.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<LinkChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(changes);
+        }
+
+        @Override
+        public void afterCommit() {
+            for (LinkChange change : changes) {
+                dispatcher.dispatchLocal(change);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxLinkChangeBus.this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.urlshortener.exception;
+
+import java.time.Duration;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.urlshortener.repository;
+
+import com.example.urlshortener.domain.ArchivedShortUrl;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ArchivedShortUrlRepository extends JpaRepository<ArchivedShortUrl, UUID> {
+
+    boolean existsByCode(String code);
+}
@@ -0,0 +1,17 @@
+package com.example.urlshortener.repository;
+
+import com.example.urlshortener.domain.CodeBlock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CodeBlockRepository extends JpaRepository<CodeBlock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from CodeBlock b where b.name = :name")
+    Optional<CodeBlock> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,62 @@
+package com.example.urlshortener.repository;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.dto.ShortUrlResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface ShortUrlRepository extends JpaRepository<ShortUrl, UUID> {
+
+    @Query("""
+            select new com.example.urlshortener.domain.RedirectTarget(s.originalUrl, s.redirectType, s.cacheMaxAge)
+            from ShortUrl s
+            where s.code = :code and s.active = true
+            """)
+    Optional<RedirectTarget> findActiveRedirectByCode(@Param("code") String code);
+
+    Optional<ShortUrl> findByIdAndOwnerId(UUID id, UUID ownerId);
+
+    List<ShortUrl> findAllByOwnerIdAndUrlHashAndActiveTrue(UUID ownerId, byte[] urlHash);
+
+    List<ShortUrl> findAllByOwnerIdOrderByCreatedAtDescIdDesc(UUID ownerId, Pageable pageable);
+
+    @Query("""
+            select s from ShortUrl s
+            where s.owner.id = :ownerId
+              and (s.createdAt < :createdAt or (s.createdAt = :createdAt and s.id < :id))
+            order by s.createdAt desc, s.id desc
+            """)
+    List<ShortUrl> findPageAfter(
+            @Param("ownerId") UUID ownerId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.example.urlshortener.dto.ShortUrlResponse(
+                s.id, s.originalUrl, s.shortUrl, s.active, s.createdAt, s.clickCount, s.redirectType, s.cacheMaxAge)
+            from ShortUrl s
+            where s.owner.id = :ownerId
+            order by s.createdAt desc, s.id desc
+            """)
+    Stream<ShortUrlResponse> streamAllByOwnerId(@Param("ownerId") UUID ownerId);
+
+    boolean existsByCode(String code);
+
+    boolean existsByCodeIn(Collection<String> codes);
+}
+
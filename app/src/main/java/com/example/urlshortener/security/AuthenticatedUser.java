@@ -0,0 +1,9 @@
+package com.example.urlshortener.security;
+
+import java.util.UUID;
+
+/**
+ * Principal for JWT-authenticated requests, built from verified token claims without a database lookup.
+ */
+public record AuthenticatedUser(UUID id, String email) {
+}
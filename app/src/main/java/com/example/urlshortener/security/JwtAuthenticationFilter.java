@@ -0,0 +1,88 @@
+package com.example.urlshortener.security;
+
+import com.example.urlshortener.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final Timer verificationTimer;
+    private final Counter invalidTokens;
+
+    public JwtAuthenticationFilter(JwtService jwtService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.verificationTimer = Timer.builder("shortener.auth.jwt")
+                .description("Time to verify a bearer token and build the principal")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.invalidTokens = Counter.builder("shortener.auth.failures")
+                .description("Rejected authentication attempts")
+                .tag("reason", "invalid_token")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String token = authHeader.substring(7);
+        AuthenticatedUser principal;
+        long startNanos = System.nanoTime();
+        try {
+            principal = toPrincipal(jwtService.parseClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTokens.increment();
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        } finally {
+            verificationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, List.of());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private AuthenticatedUser toPrincipal(Claims claims) {
+        String email = claims.getSubject();
+        String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        if (email == null || userId == null) {
+            return null;
+        }
+        return new AuthenticatedUser(UUID.fromString(userId), email);
+    }
+}
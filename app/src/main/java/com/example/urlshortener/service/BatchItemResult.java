@@ -0,0 +1,21 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.ShortUrl;
+
+/**
+ * Outcome of one entry of a batch create: either the stored {@code shortUrl} or an {@code error}.
+ */
+public record BatchItemResult(int index, ShortUrl shortUrl, String error) {
+
+    static BatchItemResult success(int index, ShortUrl shortUrl) {
+        return new BatchItemResult(index, shortUrl, null);
+    }
+
+    static BatchItemResult failure(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public boolean isSuccess() {
+        return shortUrl != null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.urlshortener.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts redirects in memory and periodically adds them to {@code short_urls.click_count} with one
+ * batched UPDATE, so the redirect path never writes to the database. Counts still pending at
+ * shutdown are flushed before the datasource closes.
+ */
+@Component
+public class ClickCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickCounter.class);
+
+    private static final String FLUSH_SQL = "update short_urls set click_count = click_count + ? where code = ?";
+
+    private final ConcurrentHashMap<String, ClickTally> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClickCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(String code) {
+        add(code, 1);
+    }
+
+    // fixedDelayString only takes milliseconds or ISO-8601, so convert Boot-style values such as "5s".
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${app.clicks.flush-interval}').toMillis()}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<String, ClickTally> entry : pending.entrySet()) {
+            ClickTally tally = entry.getValue();
+            long count = tally.drain();
+            if (count == 0) {
+                // No hits since the last flush: drop the code, keeping any hit that raced this check.
+                count = tally.retire();
+                pending.remove(entry.getKey(), tally);
+            }
+            if (count > 0) {
+                updates.add(new Object[]{count, entry.getKey()});
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, updates);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to flush {} click counters, retrying on next flush", updates.size(), ex);
+            for (Object[] update : updates) {
+                add((String) update[1], (Long) update[0]);
+            }
+        }
+    }
+
+    private void add(String code, long hits) {
+        for (;;) {
+            ClickTally tally = pending.get(code);
+            if (tally == null) {
+                tally = pending.computeIfAbsent(code, key -> new ClickTally());
+            }
+            if (tally.add(hits)) {
+                return;
+            }
+            // Retired by a flush that found the code idle; count the hits in a fresh tally.
+            pending.remove(code, tally);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.urlshortener.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Pending hits for one code, striped like {@link java.util.concurrent.atomic.LongAdder}: a base slot,
+ * plus padded per-thread slots once threads contend for it. Unlike a LongAdder, every slot is drained
+ * with an atomic swap, and {@link #retire()} leaves each slot negative so later adds are refused. A
+ * hit is therefore either taken by the drain or retire that swaps its slot, or refused and recorded
+ * elsewhere by the caller; none is lost or counted twice.
+ */
+final class ClickTally {
+
+    private static final long RETIRED = Long.MIN_VALUE / 2;
+    // One slot per 64-byte cache line, so contending threads do not write to the same line.
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    private static final AtomicLongArray DEAD = new AtomicLongArray(0);
+    private static final AtomicReferenceFieldUpdater<ClickTally, AtomicLongArray> CELLS =
+            AtomicReferenceFieldUpdater.newUpdater(ClickTally.class, AtomicLongArray.class, "cells");
+
+    private final AtomicLong base = new AtomicLong();
+    private volatile AtomicLongArray cells;
+
+    /**
+     * Adds hits, or returns {@code false} without counting them once the tally has been retired.
+     */
+    boolean add(long hits) {
+        AtomicLongArray slots = cells;
+        if (slots == null) {
+            long current = base.get();
+            if (current < 0) {
+                return false;
+            }
+            if (base.compareAndSet(current, current + hits)) {
+                return true;
+            }
+            // Contended: spread this and later adds over per-thread slots.
+            CELLS.compareAndSet(this, null, new AtomicLongArray(STRIPES * PADDING));
+            slots = cells;
+        }
+        if (slots == DEAD) {
+            return false;
+        }
+        int slot = (Thread.currentThread().hashCode() & (STRIPES - 1)) * PADDING;
+        return slots.getAndAdd(slot, hits) >= 0;
+    }
+
+    /**
+     * Takes every hit added since the previous drain.
+     */
+    long drain() {
+        long hits = base.getAndSet(0);
+        AtomicLongArray slots = cells;
+        if (slots != null) {
+            for (int i = 0; i < slots.length(); i += PADDING) {
+                hits += slots.getAndSet(i, 0);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Takes every hit added since the previous drain and refuses all later adds.
+     */
+    long retire() {
+        long hits = base.getAndSet(RETIRED);
+        if (!CELLS.compareAndSet(this, null, DEAD)) {
+            AtomicLongArray slots = cells;
+            for (int i = 0; i < slots.length(); i += PADDING) {
+                hits += slots.getAndSet(i, RETIRED);
+            }
+        }
+        return hits;
+    }
+
+    private static int stripes(int processors) {
+        return processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+    }
+}
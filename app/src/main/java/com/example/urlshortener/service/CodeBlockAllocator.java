@@ -0,0 +1,101 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.CodeBlock;
+import com.example.urlshortener.repository.CodeBlockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique numeric ids from blocks leased from the {@code code_blocks} table. Each node
+ * takes a row lock once per block, so ids are unique across nodes without a query per id.
+ */
+@Component
+public class CodeBlockAllocator {
+
+    static final String SHORT_URL_SEQUENCE = "short_url";
+
+    private static final long FIRST_VALUE = 1;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final CodeBlockRepository codeBlockRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+    private final Counter leases;
+    private final Counter leaseRetries;
+    // A lock rather than synchronized: leasing blocks on JDBC and must not pin a virtual thread's carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private volatile long limit;
+
+    public CodeBlockAllocator(
+            CodeBlockRepository codeBlockRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.codes.block-size}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Code block size must be positive");
+        }
+        this.codeBlockRepository = codeBlockRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.leases = Counter.builder("shortener.codes.leases")
+                .description("Id blocks leased from code_blocks")
+                .register(meterRegistry);
+        this.leaseRetries = Counter.builder("shortener.codes.lease.retries")
+                .description("Block leases retried after losing the race to create the sequence row")
+                .register(meterRegistry);
+        Gauge.builder("shortener.codes.leased.limit", this, allocator -> allocator.limit)
+                .description("Highest id leased by this node; compare with the 62^7 code space")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Call outside any transaction: a lease commits on its own connection, and callers that each hold
+     * one while waiting for it can exhaust the pool.
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = leaseBlock();
+                limit = next + blockSize;
+                leases.increment();
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long leaseBlock() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseTransaction.execute(status -> {
+                    CodeBlock block = codeBlockRepository.findForUpdate(SHORT_URL_SEQUENCE)
+                            .orElseGet(() -> codeBlockRepository.saveAndFlush(
+                                    new CodeBlock(SHORT_URL_SEQUENCE, FIRST_VALUE)));
+                    long blockStart = block.getNextValue();
+                    block.setNextValue(blockStart + blockSize);
+                    return blockStart;
+                });
+            } catch (DataIntegrityViolationException ex) {
+                // Another node created the sequence row first; retry against the existing row.
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw ex;
+                }
+                leaseRetries.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.urlshortener.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter of short codes. Adds and lookups are lock-free (bits are set with CAS), so
+ * redirect threads can query while inserts and refreshes add codes. Codes that were added are never
+ * reported absent; other codes are reported present at roughly the configured false-positive rate
+ * until more than {@code expectedInsertions} distinct codes have been added.
+ */
+final class CodeBloomFilter {
+
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    CodeBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashFunctions = (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS,
+                Math.round((double) bitCount / expectedInsertions * ln2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    boolean mightContain(String code) {
+        long hash = hash(code);
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(String code) {
+        long hash = hash(code);
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        if (changed) {
+            insertions.increment();
+        }
+    }
+
+    /**
+     * Number of adds that set at least one bit; re-adding a known code does not count.
+     */
+    long approximateInsertions() {
+        return insertions.sum();
+    }
+
+    long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer; the two 32-bit halves seed double hashing.
+    private static long hash(String code) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            h ^= code.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.urlshortener.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-item writes into batches written by one background thread. The
+ * first queued item opens a window of {@code maxWait}; everything that arrives before it closes,
+ * up to {@code maxBatchSize}, goes to {@code batchWriter} in one call (one transaction). If the
+ * batch fails, its items are retried one by one through {@code singleWriter}, so each caller gets
+ * its own result or failure. Any {@link Throwable}, errors included, fails only the items it came
+ * from; the writer thread keeps running.
+ */
+final class GroupCommitter<T, R> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Function<List<T>, List<R>> batchWriter;
+    private final Function<T, R> singleWriter;
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+    // Submitters share the read lock; close() takes the write lock, so no item is queued after the
+    // writer may have seen the queue empty and stopped.
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    private record Pending<T, R>(T item, CompletableFuture<R> result) {
+    }
+
+    GroupCommitter(
+            String name,
+            int maxBatchSize,
+            Duration maxWait,
+            int queueCapacity,
+            Function<List<T>, List<R>> batchWriter,
+            Function<T, R> singleWriter,
+            MeterRegistry meterRegistry) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.batchWriter = batchWriter;
+        this.singleWriter = singleWriter;
+        this.batchSizes = DistributionSummary.builder("shortener.group.commit.size")
+                .description("Items written per group commit")
+                .tag("writer", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, name + "-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues one item. Returns {@code null} when the queue is full or the committer is closed, in
+     * which case the caller should write the item itself.
+     */
+    CompletableFuture<R> submit(T item) {
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                return null;
+            }
+            CompletableFuture<R> result = new CompletableFuture<>();
+            return queue.offer(new Pending<>(item, result)) ? result : null;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops accepting items and waits for the queued ones to be written. Items still queued when the
+     * wait times out are failed rather than left pending.
+     */
+    @Override
+    public void close() {
+        close(Duration.ofSeconds(30));
+    }
+
+    void close(Duration timeout) {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writer.join(Math.max(1, timeout.toMillis()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            List<Pending<T, R>> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            if (!abandoned.isEmpty()) {
+                log.warn("Group committer {} did not drain in time, failing {} queued items",
+                        writer.getName(), abandoned.size());
+            }
+            for (Pending<T, R> pending : abandoned) {
+                pending.result().completeExceptionally(
+                        new IllegalStateException("Group committer closed before the item was written"));
+            }
+        }
+    }
+
+    private void run() {
+        List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                // Not interrupted by close(); keep draining so no caller is left waiting.
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending<T, R>> batch) {
+        batchSizes.record(batch.size());
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T, R> pending : batch) {
+            items.add(pending.item());
+        }
+        try {
+            List<R> results = batchWriter.apply(items);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (Throwable batchFailure) {
+            log.debug("Group commit of {} items failed, writing them one by one", batch.size(), batchFailure);
+            for (Pending<T, R> pending : batch) {
+                try {
+                    pending.result().complete(singleWriter.apply(pending.item()));
+                } catch (Throwable ex) {
+                    pending.result().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.events.LinkChange;
+import com.example.urlshortener.events.LinkChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter of every code in {@code short_urls} and {@code archived_short_urls}, used to answer redirects for never-issued codes
+ * without a query and to skip the legacy collision check for fresh codes. It is loaded on the first
+ * refresh, sized at twice the row count (at least {@code app.code-filter.expected-insertions}), rebuilt
+ * larger once it fills up, and otherwise tails rows whose {@code updated_at} passed the watermark.
+ * Archiving moves a code between the two tables without freeing it, so a plain Bloom filter suffices.
+ * Codes created on other nodes arrive through the link change bus ahead of the next refresh.
+ */
+@Component
+@ConditionalOnProperty(name = "app.code-filter.enabled", havingValue = "true")
+public class IssuedCodeFilter implements LinkChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuedCodeFilter.class);
+
+    private static final String COUNT_SQL =
+            "select (select count(*) from short_urls) + (select count(*) from archived_short_urls)";
+    private static final String ARCHIVED_SQL = "select code from archived_short_urls";
+    private static final String SNAPSHOT_SQL = "select code, updated_at from short_urls";
+    private static final String TAIL_SQL = SNAPSHOT_SQL + " where updated_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final long minExpectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration tailOverlap;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CodeBloomFilter filter;
+    private volatile CodeBloomFilter building;
+    private volatile boolean loaded;
+    private long watermarkMicros;
+
+    public IssuedCodeFilter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.code-filter.expected-insertions}") long minExpectedInsertions,
+            @Value("${app.code-filter.false-positive-rate}") double falsePositiveRate,
+            @Value("${app.code-filter.tail-overlap}") Duration tailOverlap) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.tailOverlap = tailOverlap;
+        // Created up front so codes issued while the first load runs are not lost.
+        this.filter = new CodeBloomFilter(minExpectedInsertions, falsePositiveRate);
+        Gauge.builder("shortener.codes.filter.insertions", this, f -> f.filter.approximateInsertions())
+                .description("Codes added to the issued-code Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("shortener.codes.filter.capacity", this, f -> f.filter.expectedInsertions())
+                .description("Codes the Bloom filter holds at its configured false-positive rate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns {@code false} only if the code has definitely never been issued. Until the first load
+     * finishes every code is reported as possibly issued.
+     */
+    public boolean mightContain(String code) {
+        return !loaded || filter.mightContain(code);
+    }
+
+    public void add(String code) {
+        filter.add(code);
+        CodeBloomFilter next = building;
+        if (next != null) {
+            next.add(code);
+        }
+    }
+
+    @Override
+    public void onLinkChange(LinkChange change) {
+        if (change.type() == LinkChange.Type.CREATED) {
+            add(change.code());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${app.code-filter.refresh-interval}').toMillis()}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            CodeBloomFilter current = filter;
+            if (!loaded || current.approximateInsertions() > current.expectedInsertions()) {
+                rebuild(current);
+            } else {
+                tail(current);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Code filter refresh failed, retrying on next refresh", ex);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild(CodeBloomFilter current) {
+        long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        long expected = Math.max(minExpectedInsertions, rows * 2);
+        CodeBloomFilter next = !loaded && expected <= current.expectedInsertions()
+                ? current
+                : new CodeBloomFilter(expected, falsePositiveRate);
+        if (next != current) {
+            building = next;
+        }
+        watermarkMicros = 0;
+        apply(next, SNAPSHOT_SQL);
+        // Read after the live rows, so a code archived in between is still seen in one of the two.
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(ARCHIVED_SQL,
+                (ResultSet rs) -> next.add(rs.getString(1))));
+        filter = next;
+        building = null;
+        // Pick up rows committed while the snapshot was being read.
+        tail(next);
+        loaded = true;
+        log.info("Code filter loaded with {} codes ({} bits, capacity {})",
+                next.approximateInsertions(), next.bitCount(), next.expectedInsertions());
+    }
+
+    private void tail(CodeBloomFilter target) {
+        Instant watermark = Instant.EPOCH.plus(watermarkMicros, ChronoUnit.MICROS);
+        apply(target, TAIL_SQL, Timestamp.from(watermark.minus(tailOverlap)));
+    }
+
+    private void apply(CodeBloomFilter target, String sql, Object... args) {
+        long[] watermark = {watermarkMicros};
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, (ResultSet rs) -> {
+            target.add(rs.getString(1));
+            watermark[0] = Math.max(watermark[0], ChronoUnit.MICROS.between(Instant.EPOCH, rs.getTimestamp(2).toInstant()));
+        }, args));
+        watermarkMicros = watermark[0];
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+@Service
+public class JwtService {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final Key signingKey;
+    private final long expirationSeconds;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.expiration}") long expirationSeconds,
+            @Value("${app.jwt.cache.max-size}") long cacheMaxSize,
+            @Value("${app.jwt.cache.ttl}") Duration cacheTtl,
+            MeterRegistry meterRegistry) {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.expirationSeconds = expirationSeconds;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        long cacheTtlNanos = cacheTtl.toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return remainingLifetimeNanos(claims, cacheTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime,
+                                                  long currentDuration) {
+                        return remainingLifetimeNanos(claims, cacheTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
+    }
+
+    public String generateToken(User user) {
+        Date issuedAt = new Date();
+        Date expiry = new Date(issuedAt.getTime() + expirationSeconds * 1000);
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId().toString())
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiry)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifies the signature and expiry of {@code token} and returns its claims. Tokens that were
+     * already verified are served from a bounded cache keyed by their SHA-256 digest, for no longer
+     * than the configured TTL and never past the token's own expiry.
+     */
+    public Claims parseClaims(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private static long remainingLifetimeNanos(Claims claims, long maxNanos) {
+        if (claims.getExpiration() == null) {
+            return maxNanos;
+        }
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return 0;
+        }
+        return Math.min(maxNanos, Duration.ofMillis(remainingMillis).toNanos());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
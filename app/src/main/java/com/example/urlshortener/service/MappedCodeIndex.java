@@ -0,0 +1,425 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Open-addressing hash of short code to original URL stored in memory-mapped files, so entries live
+ * in the page cache rather than on the Java heap and survive restarts.
+ *
+ * <p>{@code slots} holds one 8-byte slot per bucket: a 16-bit hash tag and the record offset.
+ * {@code data} is an append-only log of 8-byte aligned records ({@code int flags, short codeLength,
+ * short urlLength, code, url}); the flags hold the active bit, the permanent-redirect bit and the
+ * cache max-age above them. Writers are serialised by a lock; readers never lock. A record is written
+ * before its slot is published with a release store and readers load slots with acquire, so a reader
+ * that sees a slot also sees its record.
+ */
+final class MappedCodeIndex implements Closeable {
+
+    static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final long MAGIC = 0x5244495831L; // "RDIX1"
+    private static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_SIZE = 16;
+    private static final int H_DATA_END = 24;
+    private static final int H_WATERMARK = 32;
+    private static final int H_CLEAN = 40;
+
+    private static final int SLOT_SEGMENT_SHIFT = 27; // 2^27 slots (1 GiB) per mapping
+    private static final long DATA_SEGMENT_BYTES = 1L << 28;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_PERMANENT = 2;
+    private static final int MAX_AGE_SHIFT = 2;
+    private static final int MAX_MAX_AGE = Integer.MAX_VALUE >>> MAX_AGE_SHIFT;
+    private static final int TAG_SHIFT = 48;
+    private static final long OFFSET_MASK = (1L << TAG_SHIFT) - 1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel headerChannel;
+    private final FileChannel slotChannel;
+    private final FileChannel dataChannel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] slotSegments;
+    private volatile MappedByteBuffer[] dataSegments;
+    private final int capacity;
+    private final int mask;
+    private final long maxEntries;
+    private final boolean restored;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long size;
+    private long dataEnd;
+
+    private MappedCodeIndex(Path directory, int capacity) throws IOException {
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxEntries = (long) (capacity * MAX_LOAD_FACTOR);
+        this.headerChannel = open(directory.resolve("header"));
+        this.slotChannel = open(directory.resolve("slots"));
+        this.dataChannel = open(directory.resolve("data"));
+
+        this.header = map(headerChannel, 0, HEADER_BYTES);
+        this.restored = header.getLong(H_MAGIC) == MAGIC
+                && header.getInt(H_VERSION) == VERSION
+                && header.getInt(H_CAPACITY) == capacity
+                && header.getInt(H_CLEAN) == 1;
+        if (restored) {
+            size = header.getLong(H_SIZE);
+            dataEnd = header.getLong(H_DATA_END);
+        } else {
+            // Missing, foreign or not cleanly closed: start empty and let the caller rebuild it.
+            slotChannel.truncate(0);
+            dataChannel.truncate(0);
+            header.putLong(H_SIZE, 0);
+            header.putLong(H_DATA_END, 0);
+            header.putLong(H_WATERMARK, 0);
+        }
+
+        long slotBytes = (long) capacity * Long.BYTES;
+        long slotSegmentBytes = (long) Long.BYTES << SLOT_SEGMENT_SHIFT;
+        this.slotSegments = new MappedByteBuffer[(int) ((slotBytes + slotSegmentBytes - 1) / slotSegmentBytes)];
+        for (int i = 0; i < slotSegments.length; i++) {
+            long position = i * slotSegmentBytes;
+            slotSegments[i] = map(slotChannel, position, Math.min(slotSegmentBytes, slotBytes - position));
+        }
+        int dataSegmentCount = dataEnd == 0 ? 1 : (int) ((dataEnd - 1) / DATA_SEGMENT_BYTES) + 1;
+        MappedByteBuffer[] segments = new MappedByteBuffer[dataSegmentCount];
+        for (int i = 0; i < dataSegmentCount; i++) {
+            segments[i] = map(dataChannel, i * DATA_SEGMENT_BYTES, DATA_SEGMENT_BYTES);
+        }
+        this.dataSegments = segments;
+
+        header.putLong(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, VERSION);
+        header.putInt(H_CAPACITY, capacity);
+        header.putInt(H_CLEAN, 0);
+        header.force();
+    }
+
+    /**
+     * Opens the index in {@code directory}, reusing the previous contents if they were closed cleanly
+     * with the same capacity (see {@link #restored()}); otherwise the files are reset.
+     */
+    static MappedCodeIndex open(Path directory, int capacity) throws IOException {
+        if (capacity < 16 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Index capacity must be a power of two of at least 16");
+        }
+        Files.createDirectories(directory);
+        return new MappedCodeIndex(directory, capacity);
+    }
+
+    /**
+     * Returns the target of an active code, {@link Optional#empty()} for an indexed but inactive code,
+     * or {@code null} when the code is not in the index.
+     */
+    Optional<RedirectTarget> lookup(String code) {
+        long hash = hash(code);
+        long tag = hash >>> TAG_SHIFT;
+        int bucket = (int) hash & mask;
+        MappedByteBuffer[] segments = null;
+        for (int probes = 0; probes < capacity; probes++) {
+            long slot = (long) LONGS.getAcquire(slotSegment(bucket), slotPosition(bucket));
+            if (slot == 0) {
+                return null;
+            }
+            if ((slot >>> TAG_SHIFT) == tag) {
+                if (segments == null) {
+                    segments = dataSegments;
+                }
+                long offset = recordOffset(slot);
+                ByteBuffer segment = segments[(int) (offset / DATA_SEGMENT_BYTES)];
+                int position = (int) (offset % DATA_SEGMENT_BYTES);
+                if (codeMatches(segment, position, code)) {
+                    return readTarget(segment, position);
+                }
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Inserts or updates a code. Returns {@code false} without indexing it when the table is at its
+     * load limit or the target does not fit a record; lookups for such codes fall back to the database.
+     */
+    boolean put(String code, RedirectTarget target, boolean active) {
+        byte[] url = target.url().getBytes(StandardCharsets.UTF_8);
+        if (url.length > 0xFFFF || code.length() > 0xFFFF || target.maxAgeSeconds() > MAX_MAX_AGE) {
+            return false;
+        }
+        int flags = (active ? FLAG_ACTIVE : 0)
+                | (target.redirectType() == RedirectType.PERMANENT ? FLAG_PERMANENT : 0)
+                | target.maxAgeSeconds() << MAX_AGE_SHIFT;
+        writeLock.lock();
+        try {
+            long hash = hash(code);
+            long tag = hash >>> TAG_SHIFT;
+            int bucket = (int) hash & mask;
+            while (true) {
+                long slot = (long) LONGS.getAcquire(slotSegment(bucket), slotPosition(bucket));
+                if (slot == 0) {
+                    break;
+                }
+                if ((slot >>> TAG_SHIFT) == tag) {
+                    long offset = recordOffset(slot);
+                    ByteBuffer segment = dataSegments[(int) (offset / DATA_SEGMENT_BYTES)];
+                    int position = (int) (offset % DATA_SEGMENT_BYTES);
+                    if (codeMatches(segment, position, code)) {
+                        if (urlMatches(segment, position, url)) {
+                            INTS.setRelease(segment, position, flags);
+                        } else {
+                            publish(bucket, tag, append(code, url, flags));
+                        }
+                        return true;
+                    }
+                }
+                bucket = (bucket + 1) & mask;
+            }
+            if (size >= maxEntries) {
+                return false;
+            }
+            publish(bucket, tag, append(code, url, flags));
+            size++;
+            header.putLong(H_SIZE, size);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks an indexed code inactive in place. Returns {@code false} if the code is not indexed.
+     */
+    boolean markInactive(String code) {
+        writeLock.lock();
+        try {
+            long hash = hash(code);
+            long tag = hash >>> TAG_SHIFT;
+            int bucket = (int) hash & mask;
+            while (true) {
+                long slot = (long) LONGS.getAcquire(slotSegment(bucket), slotPosition(bucket));
+                if (slot == 0) {
+                    return false;
+                }
+                if ((slot >>> TAG_SHIFT) == tag) {
+                    long offset = recordOffset(slot);
+                    ByteBuffer segment = dataSegments[(int) (offset / DATA_SEGMENT_BYTES)];
+                    int position = (int) (offset % DATA_SEGMENT_BYTES);
+                    if (codeMatches(segment, position, code)) {
+                        INTS.setRelease(segment, position, segment.getInt(position) & ~FLAG_ACTIVE);
+                        return true;
+                    }
+                }
+                bucket = (bucket + 1) & mask;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@code updated_at} of the newest row applied, in microseconds since the epoch; 0 when empty.
+     */
+    long watermarkMicros() {
+        return header.getLong(H_WATERMARK);
+    }
+
+    void setWatermarkMicros(long watermarkMicros) {
+        writeLock.lock();
+        try {
+            header.putLong(H_WATERMARK, watermarkMicros);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Whether the previous contents were reused when the index was opened.
+     */
+    boolean restored() {
+        return restored;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long dataBytes() {
+        return dataEnd;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Flushes the mappings and marks the files as cleanly closed so the next {@link #open} reuses them.
+     */
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (MappedByteBuffer segment : slotSegments) {
+                segment.force();
+            }
+            for (MappedByteBuffer segment : dataSegments) {
+                segment.force();
+            }
+            header.putInt(H_CLEAN, 1);
+            header.force();
+        } finally {
+            writeLock.unlock();
+            headerChannel.close();
+            slotChannel.close();
+            dataChannel.close();
+        }
+    }
+
+    private long append(String code, byte[] url, int flags) {
+        int codeLength = code.length();
+        int length = (RECORD_HEADER_BYTES + codeLength + url.length + 7) & ~7;
+        long offset = dataEnd;
+        if (offset % DATA_SEGMENT_BYTES + length > DATA_SEGMENT_BYTES) {
+            offset = (offset / DATA_SEGMENT_BYTES + 1) * DATA_SEGMENT_BYTES;
+        }
+        ByteBuffer segment = dataSegment((int) (offset / DATA_SEGMENT_BYTES));
+        int position = (int) (offset % DATA_SEGMENT_BYTES);
+        segment.putShort(position + 4, (short) codeLength);
+        segment.putShort(position + 6, (short) url.length);
+        for (int i = 0; i < codeLength; i++) {
+            segment.put(position + RECORD_HEADER_BYTES + i, (byte) code.charAt(i));
+        }
+        segment.put(position + RECORD_HEADER_BYTES + codeLength, url);
+        segment.putInt(position, flags);
+        dataEnd = offset + length;
+        header.putLong(H_DATA_END, dataEnd);
+        return offset;
+    }
+
+    private ByteBuffer dataSegment(int index) {
+        MappedByteBuffer[] segments = dataSegments;
+        if (index < segments.length) {
+            return segments[index];
+        }
+        try {
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, index + 1);
+            for (int i = segments.length; i <= index; i++) {
+                grown[i] = map(dataChannel, i * DATA_SEGMENT_BYTES, DATA_SEGMENT_BYTES);
+            }
+            dataSegments = grown;
+            return grown[index];
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not grow redirect index data file", ex);
+        }
+    }
+
+    private void publish(int bucket, long tag, long offset) {
+        long slot = (tag << TAG_SHIFT) | ((offset >>> 3) + 1);
+        LONGS.setRelease(slotSegment(bucket), slotPosition(bucket), slot);
+    }
+
+    private ByteBuffer slotSegment(int bucket) {
+        return slotSegments[bucket >>> SLOT_SEGMENT_SHIFT];
+    }
+
+    private static int slotPosition(int bucket) {
+        return (bucket & ((1 << SLOT_SEGMENT_SHIFT) - 1)) << 3;
+    }
+
+    private static long recordOffset(long slot) {
+        return ((slot & OFFSET_MASK) - 1) << 3;
+    }
+
+    private static boolean codeMatches(ByteBuffer segment, int position, String code) {
+        int codeLength = Short.toUnsignedInt(segment.getShort(position + 4));
+        if (codeLength != code.length()) {
+            return false;
+        }
+        for (int i = 0; i < codeLength; i++) {
+            if (segment.get(position + RECORD_HEADER_BYTES + i) != (byte) code.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean urlMatches(ByteBuffer segment, int position, byte[] url) {
+        int codeLength = Short.toUnsignedInt(segment.getShort(position + 4));
+        int urlLength = Short.toUnsignedInt(segment.getShort(position + 6));
+        if (urlLength != url.length) {
+            return false;
+        }
+        int start = position + RECORD_HEADER_BYTES + codeLength;
+        for (int i = 0; i < urlLength; i++) {
+            if (segment.get(start + i) != url[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Optional<RedirectTarget> readTarget(ByteBuffer segment, int position) {
+        int flags = (int) INTS.getAcquire(segment, position);
+        if ((flags & FLAG_ACTIVE) == 0) {
+            return Optional.empty();
+        }
+        int codeLength = Short.toUnsignedInt(segment.getShort(position + 4));
+        byte[] url = new byte[Short.toUnsignedInt(segment.getShort(position + 6))];
+        segment.get(position + RECORD_HEADER_BYTES + codeLength, url);
+        RedirectType redirectType = (flags & FLAG_PERMANENT) != 0 ? RedirectType.PERMANENT : RedirectType.TEMPORARY;
+        return Optional.of(new RedirectTarget(new String(url, StandardCharsets.UTF_8), redirectType,
+                flags >>> MAX_AGE_SHIFT));
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer, so both the bucket bits and the tag bits are mixed.
+    private static long hash(String code) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            h ^= code.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (channel.size() < position + length) {
+            channel.write(ByteBuffer.wrap(new byte[1]), position + length - 1);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        buffer.order(ByteOrder.nativeOrder());
+        return buffer;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.events.LinkChange;
+import com.example.urlshortener.events.LinkChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Size-bounded code to redirect target cache used by the redirect path. Unknown codes are cached as
+ * {@link Optional#empty()} with a shorter TTL so repeated misses do not reach the database either.
+ * Every link change evicts the code: deactivations drop the stale target, creations drop a cached miss.
+ */
+@Component
+public class RedirectCache implements LinkChangeListener {
+
+    // Power of two; codes that share a stripe only cost each other a skipped put.
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<String, Optional<RedirectTarget>> cache;
+    // Bumped per code stripe on every change, so a load that overlapped the change is not kept.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public RedirectCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.redirect-cache.max-size}") long maxSize,
+            @Value("${app.redirect-cache.ttl}") Duration ttl,
+            @Value("${app.redirect-cache.negative-ttl}") Duration negativeTtl) {
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<RedirectTarget>>() {
+                    @Override
+                    public long expireAfterCreate(String code, Optional<RedirectTarget> target, long currentTime) {
+                        return target.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String code, Optional<RedirectTarget> target, long currentTime,
+                                                  long currentDuration) {
+                        return target.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String code, Optional<RedirectTarget> target, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "redirect");
+    }
+
+    /**
+     * Looks the code up and loads it on a miss. The loader runs outside the cache so a JDBC call
+     * never happens while holding a map bin monitor, which would pin a virtual thread's carrier;
+     * concurrent misses for the same cold code may each query once. A load that overlaps a change to
+     * its code may have read the old row, so it is removed again rather than served until expiry.
+     */
+    public Optional<RedirectTarget> get(String code, Function<String, Optional<RedirectTarget>> loader) {
+        Optional<RedirectTarget> cached = cache.getIfPresent(code);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(code);
+        long generation = generations.get(stripe);
+        Optional<RedirectTarget> loaded = loader.apply(code);
+        cache.put(code, loaded);
+        // A change that bumped the generation before this check is undone here; one that bumps it
+        // after will invalidate this entry itself.
+        if (generations.get(stripe) != generation) {
+            cache.asMap().remove(code, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Changes arrive after their transaction committed. Bumping the generation before evicting makes
+     * any load still in flight for the code drop the value it read, which may predate the commit.
+     */
+    @Override
+    public void onLinkChange(LinkChange change) {
+        generations.incrementAndGet(stripe(change.code()));
+        cache.invalidate(change.code());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(String code) {
+        int hash = code.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+}
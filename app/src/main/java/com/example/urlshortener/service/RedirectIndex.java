@@ -0,0 +1,182 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.events.LinkChange;
+import com.example.urlshortener.events.LinkChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Off-heap code to URL index for the redirect path, backed by {@link MappedCodeIndex}. It is built
+ * from {@code short_urls} on the first refresh (or reused from the previous run's files) and kept
+ * current by re-reading rows whose {@code updated_at} is at or after the watermark minus
+ * {@code app.redirect-index.tail-overlap}; the overlap covers transactions that commit out of order.
+ * Codes the index does not hold yet fall through to the heap cache and the database. Deactivations
+ * published on the link change bus are applied without waiting for the next refresh.
+ */
+@Component
+@ConditionalOnProperty(name = "app.redirect-index.enabled", havingValue = "true")
+public class RedirectIndex implements LinkChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedirectIndex.class);
+
+    private static final String SNAPSHOT_SQL =
+            "select code, original_url, active, redirect_type, cache_max_age, updated_at from short_urls";
+    private static final String TAIL_SQL = SNAPSHOT_SQL + " where updated_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Path directory;
+    private final int capacity;
+    private final Duration tailOverlap;
+    private final Timer refreshTimer;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile MappedCodeIndex index;
+    private boolean fullWarningLogged;
+
+    public RedirectIndex(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.redirect-index.path}") String directory,
+            @Value("${app.redirect-index.capacity}") int capacity,
+            @Value("${app.redirect-index.tail-overlap}") Duration tailOverlap) {
+        // Own template so the fetch size does not leak into other queries; the read-only transaction
+        // lets the PostgreSQL driver stream the snapshot through a cursor instead of buffering it.
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.directory = Path.of(directory);
+        this.capacity = capacity;
+        this.tailOverlap = tailOverlap;
+        this.refreshTimer = Timer.builder("shortener.redirect.index.refresh")
+                .description("Time to load or tail short_urls into the redirect index")
+                .register(meterRegistry);
+        Gauge.builder("shortener.redirect.index.entries", this, r -> r.index == null ? 0 : r.index.size())
+                .description("Codes held in the off-heap redirect index")
+                .register(meterRegistry);
+        Gauge.builder("shortener.redirect.index.data.bytes", this, r -> r.index == null ? 0 : r.index.dataBytes())
+                .description("Bytes used by the redirect index record log")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the target of an active code, {@link Optional#empty()} for a known inactive code, or
+     * {@code null} when the index cannot answer (not loaded yet, or the code is not indexed).
+     */
+    public Optional<RedirectTarget> find(String code) {
+        MappedCodeIndex current = index;
+        return current == null ? null : current.lookup(code);
+    }
+
+    /**
+     * New codes are left to the next refresh, which reads their target; until then they fall through.
+     */
+    @Override
+    public void onLinkChange(LinkChange change) {
+        if (change.type() == LinkChange.Type.DEACTIVATED) {
+            markInactive(change.code());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${app.redirect-index.refresh-interval}').toMillis()}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            refreshTimer.record(this::doRefresh);
+        } catch (DataAccessException | UncheckedIOException ex) {
+            log.warn("Redirect index refresh failed, retrying on next refresh", ex);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh() {
+        MappedCodeIndex current = index;
+        if (current == null) {
+            try {
+                current = MappedCodeIndex.open(directory, capacity);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not open redirect index in " + directory, ex);
+            }
+            // Publishing a partly built index is safe: codes it does not hold yet fall through to the database.
+            index = current;
+            if (!current.restored()) {
+                log.info("Building redirect index in {} from short_urls", directory);
+            }
+        }
+        if (current.watermarkMicros() == 0) {
+            apply(current, SNAPSHOT_SQL);
+            log.info("Redirect index loaded with {} codes", current.size());
+            return;
+        }
+        Instant watermark = Instant.EPOCH.plus(current.watermarkMicros(), ChronoUnit.MICROS);
+        apply(current, TAIL_SQL, Timestamp.from(watermark.minus(tailOverlap)));
+    }
+
+    private void apply(MappedCodeIndex target, String sql, Object... args) {
+        long[] watermark = {target.watermarkMicros()};
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, (ResultSet rs) -> {
+            RedirectTarget redirect = new RedirectTarget(
+                    rs.getString(2), RedirectType.valueOf(rs.getString(4)), rs.getInt(5));
+            if (!target.put(rs.getString(1), redirect, rs.getBoolean(3)) && !fullWarningLogged) {
+                fullWarningLogged = true;
+                log.warn("Redirect index is at its load limit ({} slots); raise app.redirect-index.capacity",
+                        target.capacity());
+            }
+            watermark[0] = Math.max(watermark[0], toMicros(rs.getTimestamp(6)));
+        }, args));
+        target.setWatermarkMicros(watermark[0]);
+    }
+
+    private void markInactive(String code) {
+        MappedCodeIndex current = index;
+        if (current != null) {
+            current.markInactive(code);
+        }
+    }
+
+    private static long toMicros(Timestamp timestamp) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        refreshLock.lock();
+        try {
+            MappedCodeIndex current = index;
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.urlshortener.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Turns ids from {@link CodeBlockAllocator} into fixed-length base62 codes. When a scramble key is
+ * configured, ids are first passed through a keyed Feistel permutation of the 7-character code space,
+ * so consecutive ids do not produce guessable neighbouring codes while staying collision-free.
+ */
+@Component
+public class ShortCodeGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int DEFAULT_LENGTH = 7;
+
+    // 62^7 codes fit in 42 bits; the Feistel network permutes 2 x 21-bit halves and cycle-walks back into range.
+    private static final long CODE_SPACE = 3_521_614_606_208L;
+    private static final int HALF_BITS = 21;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final CodeBlockAllocator allocator;
+    private final long[] roundKeys;
+
+    public ShortCodeGenerator(
+            CodeBlockAllocator allocator,
+            @Value("${app.codes.scramble-key:}") String scrambleKey) {
+        this.allocator = allocator;
+        this.roundKeys = scrambleKey == null || scrambleKey.isBlank() ? null : deriveRoundKeys(scrambleKey);
+    }
+
+    public String generate() {
+        return encode(allocator.nextId());
+    }
+
+    public String encode(long id) {
+        if (id < 0 || id >= CODE_SPACE) {
+            throw new IllegalStateException("Short code space exhausted");
+        }
+        long value = roundKeys == null ? id : permute(id);
+        char[] buffer = new char[DEFAULT_LENGTH];
+        for (int i = DEFAULT_LENGTH - 1; i >= 0; i--) {
+            buffer[i] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        }
+        return new String(buffer);
+    }
+
+    private long permute(long id) {
+        long value = id;
+        do {
+            value = feistel(value);
+        } while (value >= CODE_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long key : roundKeys) {
+            long next = left ^ (mix(right ^ key) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] deriveRoundKeys(String scrambleKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(scrambleKey.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long[] keys = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                keys[i] = buffer.getLong();
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
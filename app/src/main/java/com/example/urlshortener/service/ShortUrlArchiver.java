@@ -0,0 +1,143 @@
+package com.example.urlshortener.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves links that have been inactive for longer than {@code app.archive.retention} from
+ * {@code short_urls} to {@code archived_short_urls}. Each run copies and deletes at most one chunk in
+ * one short transaction, oldest deactivation first, and runs are spaced by {@code chunk-interval}, so
+ * the job holds few row locks at a time and drains a backlog at a bounded rate. Archived codes keep
+ * their unique row in the archive and are never reissued.
+ */
+@Component
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class ShortUrlArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ShortUrlArchiver.class);
+
+    private static final String SELECT_SQL = """
+            select id, updated_at from short_urls
+            where active = false and updated_at < :cutoff
+            order by updated_at
+            limit :limit
+            """;
+    private static final String COPY_SQL = """
+            insert into archived_short_urls (id, code, original_url, short_url, owner_id, redirect_type,
+                cache_max_age, click_count, created_at, deactivated_at, archived_at)
+            select id, code, original_url, short_url, owner_id, redirect_type,
+                cache_max_age, click_count, created_at, updated_at, :archivedAt
+            from short_urls
+            where active = false and id in (:ids)
+            """;
+    private static final String DELETE_SQL = "delete from short_urls where active = false and id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Counter archivedRows;
+    private final Counter failures;
+    private final Timer chunkTimer;
+    private volatile long lagSeconds;
+
+    private record Candidate(UUID id, Instant deactivatedAt) {
+    }
+
+    public ShortUrlArchiver(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.archive.retention}") Duration retention,
+            @Value("${app.archive.chunk-size}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Archive chunk size must be positive");
+        }
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.archivedRows = Counter.builder("shortener.archive.rows")
+                .description("Deactivated links moved to archived_short_urls")
+                .register(meterRegistry);
+        this.failures = Counter.builder("shortener.archive.failures")
+                .description("Archive chunks rolled back and retried on the next run")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("shortener.archive.chunk")
+                .description("Time to copy and delete one chunk of archived links")
+                .register(meterRegistry);
+        Gauge.builder("shortener.archive.lag", this, archiver -> archiver.lagSeconds)
+                .description("How far past the retention window the oldest link still waiting to be archived is")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${app.archive.chunk-interval}').toMillis()}")
+    public void run() {
+        try {
+            archiveChunk();
+        } catch (DataAccessException | IllegalStateException ex) {
+            failures.increment();
+            log.warn("Archiving deactivated links failed, retrying on next run", ex);
+        }
+    }
+
+    /**
+     * Archives up to one chunk of expired links and returns how many were moved.
+     */
+    public int archiveChunk() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(retention);
+        Integer moved = chunkTimer.record(() -> transactionTemplate.execute(status -> {
+            List<Candidate> candidates = jdbcTemplate.query(SELECT_SQL,
+                    new MapSqlParameterSource()
+                            .addValue("cutoff", Timestamp.from(cutoff))
+                            .addValue("limit", chunkSize),
+                    (rs, rowNum) -> new Candidate(rs.getObject(1, UUID.class), rs.getTimestamp(2).toInstant()));
+            if (candidates.isEmpty()) {
+                lagSeconds = 0;
+                return 0;
+            }
+            List<UUID> ids = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates) {
+                ids.add(candidate.id());
+            }
+            int copied = jdbcTemplate.update(COPY_SQL, new MapSqlParameterSource()
+                    .addValue("archivedAt", Timestamp.from(now))
+                    .addValue("ids", ids));
+            int deleted = jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+            if (copied != deleted) {
+                throw new IllegalStateException("Archived " + copied + " links but deleted " + deleted);
+            }
+            // A full chunk may leave more behind; the newest row taken bounds how far behind that is.
+            lagSeconds = candidates.size() < chunkSize
+                    ? 0
+                    : Duration.between(candidates.get(candidates.size() - 1).deactivatedAt(), cutoff).toSeconds();
+            return deleted;
+        }));
+        archivedRows.increment(moved);
+        return moved;
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.urlshortener.service;
+
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Single-pass validator and normalizer for submitted URLs. Accepts absolute {@code http} and
+ * {@code https} URLs and writes their canonical form in one scan: scheme and host are lower-cased,
+ * internationalized hosts converted to punycode, a trailing dot on the host and the scheme's default
+ * port dropped, percent-escapes upper-cased, escapes of unreserved characters decoded, characters
+ * that may not appear literally (non-ASCII, space, {@code "<>[\]^`{|}}) UTF-8 encoded, and
+ * {@code .}/{@code ..} path segments resolved, with an empty path becoming {@code /}.
+ *
+ * <p>Rejections are returned as shared constant {@link Result}s instead of exceptions. Input
+ * rejected for its scheme or before the authority is copied allocates nothing; later rejections
+ * only discard the partly written output.
+ */
+final class UrlNormalizer {
+
+    static final int MAX_LENGTH = 2048;
+    static final int FINGERPRINT_BYTES = 16;
+
+    static final Result BLANK = Result.invalid("URL must not be blank");
+    static final Result TOO_LONG = Result.invalid("URL must be at most " + MAX_LENGTH + " characters");
+    static final Result BAD_SCHEME = Result.invalid("URL must use http or https scheme");
+    static final Result BAD_HOST = Result.invalid("URL must include a valid host");
+    static final Result MALFORMED = Result.invalid("Invalid URL format");
+
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    // Per-component handling of ASCII characters; '%' is handled separately.
+    private static final byte REJECT = 0;
+    private static final byte KEEP = 1;
+    private static final byte ENCODE = 2;
+
+    private static final byte[] USERINFO = table(":");
+    private static final byte[] PATH = table(":@");
+    private static final byte[] QUERY = table(":@/?");
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Either the canonical {@code url} or the {@code error} explaining why the input was rejected.
+     */
+    record Result(String url, String error) {
+
+        static Result invalid(String error) {
+            return new Result(null, error);
+        }
+
+        boolean isValid() {
+            return url != null;
+        }
+    }
+
+    private UrlNormalizer() {
+    }
+
+    static Result normalize(CharSequence input) {
+        if (input == null) {
+            return BLANK;
+        }
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return BLANK;
+        }
+        if (end - start > MAX_LENGTH) {
+            return TOO_LONG;
+        }
+
+        int colon = schemeEnd(input, start, end);
+        boolean https;
+        if (colon - start == 4 && startsWithIgnoreCase(input, start, "http")) {
+            https = false;
+        } else if (colon - start == 5 && startsWithIgnoreCase(input, start, "https")) {
+            https = true;
+        } else {
+            return BAD_SCHEME;
+        }
+        int i = colon + 1;
+        if (end - i < 2 || input.charAt(i) != '/' || input.charAt(i + 1) != '/') {
+            return BAD_HOST;
+        }
+        i += 2;
+        int authorityEnd = i;
+        while (authorityEnd < end) {
+            char c = input.charAt(authorityEnd);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            if (c == '\\') {
+                // Browsers end the authority at a backslash, so the host they visit would not be the
+                // one checked here (http://good.example\@evil.example/).
+                return MALFORMED;
+            }
+            authorityEnd++;
+        }
+
+        StringBuilder out = new StringBuilder(end - start + 8).append(https ? "https://" : "http://");
+        int at = lastIndexOf(input, '@', i, authorityEnd);
+        if (at >= 0) {
+            if (appendComponent(input, i, at, out, USERINFO, false) < 0) {
+                return MALFORMED;
+            }
+            out.append('@');
+            i = at + 1;
+        }
+
+        int portStart;
+        if (i < authorityEnd && input.charAt(i) == '[') {
+            int close = indexOf(input, ']', i, authorityEnd);
+            if (close < 0 || !appendIpv6(input, i + 1, close, out)) {
+                return BAD_HOST;
+            }
+            if (close + 1 < authorityEnd && input.charAt(close + 1) != ':') {
+                return BAD_HOST;
+            }
+            portStart = close + 1 < authorityEnd ? close + 2 : -1;
+        } else {
+            int portColon = indexOf(input, ':', i, authorityEnd);
+            if (!appendHost(input, i, portColon < 0 ? authorityEnd : portColon, out)) {
+                return BAD_HOST;
+            }
+            portStart = portColon < 0 ? -1 : portColon + 1;
+        }
+        if (portStart >= 0 && portStart < authorityEnd) {
+            int port = 0;
+            for (int k = portStart; k < authorityEnd; k++) {
+                char c = input.charAt(k);
+                if (c < '0' || c > '9') {
+                    return MALFORMED;
+                }
+                port = port * 10 + (c - '0');
+                if (port > 65535) {
+                    return MALFORMED;
+                }
+            }
+            if (port != (https ? 443 : 80)) {
+                out.append(':').append(port);
+            }
+        }
+
+        i = authorityEnd;
+        if (i < end && input.charAt(i) == '/') {
+            i = appendPath(input, i, end, out);
+            if (i < 0) {
+                return MALFORMED;
+            }
+        } else {
+            out.append('/');
+        }
+        if (i < end && input.charAt(i) == '?') {
+            out.append('?');
+            i = appendComponent(input, i + 1, end, out, QUERY, true);
+            if (i < 0) {
+                return MALFORMED;
+            }
+        }
+        if (i < end) {
+            // Only a '#' can be left here.
+            out.append('#');
+            if (appendComponent(input, i + 1, end, out, QUERY, false) < 0) {
+                return MALFORMED;
+            }
+        }
+        if (out.length() > MAX_LENGTH) {
+            return TOO_LONG;
+        }
+        return new Result(out.toString(), null);
+    }
+
+    /**
+     * First {@value #FINGERPRINT_BYTES} bytes of the SHA-256 of a normalized URL, stored in
+     * {@code short_urls.url_hash}.
+     */
+    static byte[] fingerprint(String normalizedUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalizedUrl.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Index of the ':' ending a syntactically valid scheme, or -1.
+    private static int schemeEnd(CharSequence in, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = in.charAt(i);
+            if (c == ':') {
+                return i == start ? -1 : i;
+            }
+            boolean alpha = (c | 0x20) >= 'a' && (c | 0x20) <= 'z';
+            if (!alpha && (i == start || !(c >= '0' && c <= '9' || c == '+' || c == '-' || c == '.'))) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence in, int from, String lowerCase) {
+        for (int k = 0; k < lowerCase.length(); k++) {
+            if ((in.charAt(from + k) | 0x20) != lowerCase.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendHost(CharSequence in, int from, int to, StringBuilder out) {
+        for (int k = from; k < to; k++) {
+            if (in.charAt(k) >= 0x80) {
+                String ascii;
+                try {
+                    ascii = IDN.toASCII(in.subSequence(from, to).toString(), IDN.ALLOW_UNASSIGNED);
+                } catch (IllegalArgumentException ex) {
+                    return false;
+                }
+                return appendAsciiHost(ascii, 0, ascii.length(), out);
+            }
+        }
+        return appendAsciiHost(in, from, to, out);
+    }
+
+    // Letters, digits and hyphens in dot-separated labels of 1-63 characters, lower-cased.
+    private static boolean appendAsciiHost(CharSequence in, int from, int to, StringBuilder out) {
+        if (to > from && in.charAt(to - 1) == '.') {
+            to--;
+        }
+        if (from == to || to - from > MAX_HOST_LENGTH) {
+            return false;
+        }
+        int labelLength = 0;
+        char previous = '.';
+        for (int k = from; k < to; k++) {
+            char c = in.charAt(k);
+            if (c == '.') {
+                if (labelLength == 0 || previous == '-') {
+                    return false;
+                }
+                labelLength = 0;
+            } else if (c >= 'A' && c <= 'Z') {
+                c = (char) (c | 0x20);
+                labelLength++;
+            } else if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' && labelLength > 0) {
+                labelLength++;
+            } else {
+                return false;
+            }
+            if (labelLength > MAX_LABEL_LENGTH) {
+                return false;
+            }
+            out.append(c);
+            previous = c;
+        }
+        return previous != '-';
+    }
+
+    /**
+     * RFC 3986 {@code IPv6address}: eight groups of 1-4 hex digits, or fewer around a single
+     * {@code ::}, with the last two optionally written as a dotted IPv4 address. Copied lower-cased.
+     */
+    private static boolean appendIpv6(CharSequence in, int from, int to, StringBuilder out) {
+        int groups = 0;
+        boolean compressed = false;
+        int k = from;
+        if (to - k >= 2 && in.charAt(k) == ':' && in.charAt(k + 1) == ':') {
+            compressed = true;
+            k += 2;
+        }
+        while (k < to) {
+            int groupStart = k;
+            while (k < to && k - groupStart <= 4 && hexValue(in.charAt(k)) >= 0) {
+                k++;
+            }
+            if (k < to && in.charAt(k) == '.') {
+                if (groups > 6 || !isIpv4(in, groupStart, to)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            if (k == groupStart || k - groupStart > 4) {
+                return false;
+            }
+            groups++;
+            if (k == to) {
+                break;
+            }
+            if (in.charAt(k) != ':' || ++k == to) {
+                return false;
+            }
+            if (in.charAt(k) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                k++;
+            }
+        }
+        if (compressed ? groups > 7 : groups != 8) {
+            return false;
+        }
+        out.append('[');
+        for (k = from; k < to; k++) {
+            char c = in.charAt(k);
+            out.append(c >= 'A' && c <= 'F' ? (char) (c | 0x20) : c);
+        }
+        out.append(']');
+        return true;
+    }
+
+    // Four decimal octets of 0-255 without leading zeros.
+    private static boolean isIpv4(CharSequence in, int from, int to) {
+        int octets = 0;
+        int k = from;
+        while (true) {
+            int octetStart = k;
+            int value = 0;
+            while (k < to && k - octetStart < 3 && in.charAt(k) >= '0' && in.charAt(k) <= '9') {
+                value = value * 10 + (in.charAt(k) - '0');
+                k++;
+            }
+            int digits = k - octetStart;
+            if (digits == 0 || value > 255 || digits > 1 && in.charAt(octetStart) == '0') {
+                return false;
+            }
+            if (++octets == 4) {
+                return k == to;
+            }
+            if (k == to || in.charAt(k) != '.') {
+                return false;
+            }
+            k++;
+        }
+    }
+
+    /**
+     * Copies the path up to the query or fragment, resolving dot segments as each segment closes.
+     * Returns the index after the path, or -1 if it contains an invalid character or escape.
+     */
+    private static int appendPath(CharSequence in, int from, int end, StringBuilder out) {
+        int pathStart = out.length();
+        out.append('/');
+        int segmentStart = out.length();
+        int i = from + 1;
+        while (true) {
+            char c = i < end ? in.charAt(i) : '?';
+            if (c == '/' || c == '?' || c == '#') {
+                int length = out.length() - segmentStart;
+                boolean dot = length == 1 && out.charAt(segmentStart) == '.';
+                boolean dotDot = length == 2 && out.charAt(segmentStart) == '.' && out.charAt(segmentStart + 1) == '.';
+                if (dot) {
+                    out.setLength(segmentStart);
+                } else if (dotDot) {
+                    int previous = segmentStart - 2;
+                    while (previous >= pathStart && out.charAt(previous) != '/') {
+                        previous--;
+                    }
+                    out.setLength(Math.max(previous, pathStart) + 1);
+                }
+                if (c != '/') {
+                    return i;
+                }
+                if (!dot && !dotDot) {
+                    out.append('/');
+                }
+                segmentStart = out.length();
+                i++;
+            } else {
+                i = appendChar(in, i, end, out, PATH);
+                if (i < 0) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    // Copies [from, to), stopping early at a '#' if asked; returns where it stopped, or -1 if invalid.
+    private static int appendComponent(CharSequence in, int from, int to, StringBuilder out, byte[] table, boolean stopAtHash) {
+        int i = from;
+        while (i < to) {
+            if (stopAtHash && in.charAt(i) == '#') {
+                return i;
+            }
+            i = appendChar(in, i, to, out, table);
+            if (i < 0) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    private static int appendChar(CharSequence in, int i, int end, StringBuilder out, byte[] table) {
+        char c = in.charAt(i);
+        if (c == '%') {
+            int high = i + 2 < end ? hexValue(in.charAt(i + 1)) : -1;
+            int low = high < 0 ? -1 : hexValue(in.charAt(i + 2));
+            if (low < 0) {
+                return -1;
+            }
+            int decoded = high << 4 | low;
+            if (isUnreserved(decoded)) {
+                out.append((char) decoded);
+            } else {
+                out.append('%').append(HEX[high]).append(HEX[low]);
+            }
+            return i + 3;
+        }
+        if (c < 0x80) {
+            byte action = table[c];
+            if (action == REJECT) {
+                return -1;
+            }
+            if (action == KEEP) {
+                out.append(c);
+            } else {
+                appendEscaped(out, c);
+            }
+            return i + 1;
+        }
+        if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(in.charAt(i + 1))) {
+            appendUtf8(out, Character.toCodePoint(c, in.charAt(i + 1)));
+            return i + 2;
+        }
+        if (Character.isSurrogate(c)) {
+            return -1;
+        }
+        appendUtf8(out, c);
+        return i + 1;
+    }
+
+    private static void appendUtf8(StringBuilder out, int codePoint) {
+        if (codePoint < 0x800) {
+            appendEscaped(out, 0xC0 | codePoint >> 6);
+        } else if (codePoint < 0x10000) {
+            appendEscaped(out, 0xE0 | codePoint >> 12);
+            appendEscaped(out, 0x80 | codePoint >> 6 & 0x3F);
+        } else {
+            appendEscaped(out, 0xF0 | codePoint >> 18);
+            appendEscaped(out, 0x80 | codePoint >> 12 & 0x3F);
+            appendEscaped(out, 0x80 | codePoint >> 6 & 0x3F);
+        }
+        appendEscaped(out, 0x80 | codePoint & 0x3F);
+    }
+
+    private static void appendEscaped(StringBuilder out, int b) {
+        out.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        int lower = c | 0x20;
+        return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+    }
+
+    private static boolean isUnreserved(int c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static int indexOf(CharSequence in, char target, int from, int to) {
+        for (int k = from; k < to; k++) {
+            if (in.charAt(k) == target) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence in, char target, int from, int to) {
+        for (int k = to - 1; k >= from; k--) {
+            if (in.charAt(k) == target) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // Unreserved characters and sub-delims are kept, controls rejected, everything else escaped.
+    private static byte[] table(String alsoKept) {
+        byte[] table = new byte[128];
+        for (int c = 0x21; c < 0x7F; c++) {
+            table[c] = isUnreserved(c) || "!$&'()*+,;=".indexOf(c) >= 0 ? KEEP : ENCODE;
+        }
+        table[' '] = ENCODE;
+        for (char c : alsoKept.toCharArray()) {
+            table[c] = KEEP;
+        }
+        return table;
+    }
+}
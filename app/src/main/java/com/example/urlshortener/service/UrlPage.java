@@ -0,0 +1,8 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.ShortUrl;
+
+import java.util.List;
+
+public record UrlPage(List<ShortUrl> items, PageCursor nextCursor) {
+}
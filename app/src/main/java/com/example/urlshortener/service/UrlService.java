@@ -0,0 +1,449 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.datasource.RecentWriters;
+import com.example.urlshortener.domain.RedirectPolicy;
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.domain.User;
+import com.example.urlshortener.dto.ShortUrlResponse;
+import com.example.urlshortener.events.LinkChange;
+import com.example.urlshortener.events.LinkChangeBus;
+import com.example.urlshortener.exception.ShortUrlNotFoundException;
+import com.example.urlshortener.repository.ArchivedShortUrlRepository;
+import com.example.urlshortener.repository.ShortUrlRepository;
+import com.example.urlshortener.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class UrlService {
+
+    private static final int MAX_GENERATION_ATTEMPTS = 10;
+
+    private final ShortUrlRepository shortUrlRepository;
+    private final UserRepository userRepository;
+    private final ArchivedShortUrlRepository archivedShortUrlRepository;
+    private final ShortCodeGenerator shortCodeGenerator;
+    private final RedirectCache redirectCache;
+    private final LinkChangeBus linkChangeBus;
+    private final RedirectIndex redirectIndex;
+    private final IssuedCodeFilter issuedCodeFilter;
+    private final RecentWriters recentWriters;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final String baseUrl;
+    private final int batchChunkSize;
+    private final boolean dedupeEnabled;
+    private final RedirectType defaultRedirectType;
+    private final int permanentMaxAge;
+    private final int temporaryMaxAge;
+    private final Timer createTimer;
+    private final Timer batchCreateTimer;
+    private final Counter filteredRedirects;
+    private final Counter codeExistenceChecks;
+    private final Counter codeCollisions;
+    private final GroupCommitter<PendingCreate, ShortUrl> groupCommitter;
+
+    private record PendingCreate(UUID ownerId, String originalUrl, RedirectPolicy redirectPolicy) {
+    }
+
+    public UrlService(
+            ShortUrlRepository shortUrlRepository,
+            UserRepository userRepository,
+            ArchivedShortUrlRepository archivedShortUrlRepository,
+            ShortCodeGenerator shortCodeGenerator,
+            RedirectCache redirectCache,
+            LinkChangeBus linkChangeBus,
+            ObjectProvider<RedirectIndex> redirectIndex,
+            ObjectProvider<IssuedCodeFilter> issuedCodeFilter,
+            ObjectProvider<RecentWriters> recentWriters,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.base-url}") String baseUrl,
+            @Value("${app.batch.chunk-size}") int batchChunkSize,
+            @Value("${app.dedupe.enabled}") boolean dedupeEnabled,
+            @Value("${app.redirect.default-type}") RedirectType defaultRedirectType,
+            @Value("${app.redirect.permanent-max-age}") Duration permanentMaxAge,
+            @Value("${app.redirect.temporary-max-age}") Duration temporaryMaxAge,
+            @Value("${app.group-commit.enabled}") boolean groupCommitEnabled,
+            @Value("${app.group-commit.max-batch-size}") int groupCommitMaxBatchSize,
+            @Value("${app.group-commit.max-wait}") Duration groupCommitMaxWait,
+            @Value("${app.group-commit.queue-capacity}") int groupCommitQueueCapacity) {
+        this.shortUrlRepository = shortUrlRepository;
+        this.userRepository = userRepository;
+        this.archivedShortUrlRepository = archivedShortUrlRepository;
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.redirectCache = redirectCache;
+        this.linkChangeBus = linkChangeBus;
+        this.redirectIndex = redirectIndex.getIfAvailable();
+        this.issuedCodeFilter = issuedCodeFilter.getIfAvailable();
+        this.recentWriters = recentWriters.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.baseUrl = baseUrl;
+        this.batchChunkSize = batchChunkSize;
+        this.dedupeEnabled = dedupeEnabled;
+        this.defaultRedirectType = defaultRedirectType;
+        this.permanentMaxAge = Math.toIntExact(permanentMaxAge.toSeconds());
+        this.temporaryMaxAge = Math.toIntExact(temporaryMaxAge.toSeconds());
+        this.createTimer = Timer.builder("shortener.shorten")
+                .description("Time to validate, store and commit one short URL")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchCreateTimer = Timer.builder("shortener.shorten.batch")
+                .description("Time to validate and store one batch of short URLs")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.filteredRedirects = Counter.builder("shortener.redirect.filtered")
+                .description("Redirects answered 404 by the issued-code filter without a lookup")
+                .register(meterRegistry);
+        this.codeExistenceChecks = Counter.builder("shortener.codes.existence.checks")
+                .description("Generated codes checked against short_urls after a filter hit")
+                .register(meterRegistry);
+        this.codeCollisions = Counter.builder("shortener.codes.collisions")
+                .description("Inserts retried with new codes because a generated code was already taken")
+                .register(meterRegistry);
+        this.groupCommitter = groupCommitEnabled
+                ? new GroupCommitter<>("shorten", groupCommitMaxBatchSize, groupCommitMaxWait, groupCommitQueueCapacity,
+                        creates -> insertWithFreshCodes(creates.size(), codes -> insertAll(creates, codes)),
+                        create -> insertWithFreshCodes(1, codes -> insert(
+                                create.ownerId(), create.originalUrl(), create.redirectPolicy(), codes.get(0))),
+                        meterRegistry)
+                : null;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+    }
+
+    /**
+     * Stores the canonical form of one link in its own transaction, or, with
+     * {@code app.group-commit.enabled}, hands it to the group committer so concurrent calls share one
+     * multi-row insert and commit. With {@code app.dedupe.enabled}, the owner's existing active link
+     * for the same canonical URL is returned instead of creating another one.
+     */
+    public ShortUrl createShortUrl(UUID ownerId, String submittedUrl) {
+        return createShortUrl(ownerId, submittedUrl, null, null);
+    }
+
+    /**
+     * As {@link #createShortUrl(UUID, String)}, with the link's redirect type and cache max-age;
+     * {@code null} values take the {@code app.redirect.*} defaults.
+     */
+    public ShortUrl createShortUrl(UUID ownerId, String submittedUrl, RedirectType redirectType, Integer cacheMaxAge) {
+        return createTimer.record(() -> {
+            String originalUrl = normalizeOrThrow(submittedUrl);
+            RedirectPolicy policy = redirectPolicy(redirectType, cacheMaxAge);
+            if (dedupeEnabled) {
+                ShortUrl existing = readOnlyTransactionTemplate.execute(
+                        status -> findDuplicate(ownerId, originalUrl, policy));
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            if (groupCommitter != null) {
+                CompletableFuture<ShortUrl> queued = groupCommitter.submit(new PendingCreate(ownerId, originalUrl, policy));
+                if (queued != null) {
+                    return await(queued);
+                }
+            }
+            return insertWithFreshCodes(1, codes -> insert(ownerId, originalUrl, policy, codes.get(0)));
+        });
+    }
+
+    /**
+     * Normalizes every URL up front, then stores the valid ones in transactions of
+     * {@code app.batch.chunk-size} rows so Hibernate can send them as JDBC batches. Invalid entries
+     * and entries from a chunk that failed to commit are reported per index; the rest still succeed.
+     */
+    public List<BatchItemResult> createShortUrls(UUID ownerId, List<String> originalUrls) {
+        return batchCreateTimer.record(() -> doCreateShortUrls(ownerId, originalUrls));
+    }
+
+    private List<BatchItemResult> doCreateShortUrls(UUID ownerId, List<String> originalUrls) {
+        BatchItemResult[] results = new BatchItemResult[originalUrls.size()];
+        String[] canonicalUrls = new String[originalUrls.size()];
+        List<Integer> validIndexes = new ArrayList<>(originalUrls.size());
+        for (int i = 0; i < originalUrls.size(); i++) {
+            UrlNormalizer.Result normalized = UrlNormalizer.normalize(originalUrls.get(i));
+            if (normalized.isValid()) {
+                canonicalUrls[i] = normalized.url();
+                validIndexes.add(i);
+            } else {
+                results[i] = BatchItemResult.failure(i, normalized.error());
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += batchChunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + batchChunkSize, validIndexes.size()));
+            try {
+                List<ShortUrl> saved = insertWithFreshCodes(
+                        chunk.size(), codes -> insertChunk(ownerId, canonicalUrls, chunk, codes));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = BatchItemResult.success(chunk.get(i), saved.get(i));
+                }
+            } catch (DataAccessException ex) {
+                for (int index : chunk) {
+                    results[index] = BatchItemResult.failure(index, "Could not store URL");
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Transactional(readOnly = true)
+    public UrlPage getUrlsForUser(UUID ownerId, PageCursor after, int limit) {
+        // Fetch one extra row to learn whether another page exists without a count query.
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<ShortUrl> rows = after == null
+                ? shortUrlRepository.findAllByOwnerIdOrderByCreatedAtDescIdDesc(ownerId, pageable)
+                : shortUrlRepository.findPageAfter(ownerId, after.createdAt(), after.id(), pageable);
+        if (rows.size() <= limit) {
+            return new UrlPage(rows, null);
+        }
+        List<ShortUrl> items = rows.subList(0, limit);
+        ShortUrl last = items.get(limit - 1);
+        return new UrlPage(items, new PageCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Feeds every link of {@code ownerId} to {@code consumer} from a database cursor inside one
+     * read-only transaction. Rows are DTO projections, so memory stays flat regardless of count.
+     */
+    public void streamUrlsForUser(UUID ownerId, Consumer<ShortUrlResponse> consumer) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ShortUrlResponse> rows = shortUrlRepository.streamAllByOwnerId(ownerId)) {
+                rows.forEach(consumer);
+            }
+        });
+    }
+
+    @Transactional
+    public void deactivateShortUrl(UUID id, UUID ownerId) {
+        ShortUrl shortUrl = shortUrlRepository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> new ShortUrlNotFoundException("Short URL not found"));
+        shortUrl.setActive(false);
+        linkChangeBus.publish(LinkChange.deactivated(shortUrl.getCode()));
+        markWriterOnCommit(ownerId);
+    }
+
+    /**
+     * Resolves a code for the redirect path: codes the issued-code filter has never seen are rejected
+     * outright, then the off-heap index answers when enabled and it holds the code, otherwise the heap
+     * cache backed by the database.
+     */
+    public Optional<RedirectTarget> resolveRedirect(String code) {
+        if (issuedCodeFilter != null && !issuedCodeFilter.mightContain(code)) {
+            filteredRedirects.increment();
+            return Optional.empty();
+        }
+        if (redirectIndex != null) {
+            Optional<RedirectTarget> indexed = redirectIndex.find(code);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        return redirectCache.get(code, shortUrlRepository::findActiveRedirectByCode);
+    }
+
+    private RedirectPolicy redirectPolicy(RedirectType redirectType, Integer cacheMaxAge) {
+        RedirectType type = redirectType != null ? redirectType : defaultRedirectType;
+        if (cacheMaxAge != null) {
+            return new RedirectPolicy(type, cacheMaxAge);
+        }
+        return new RedirectPolicy(type, type == RedirectType.PERMANENT ? permanentMaxAge : temporaryMaxAge);
+    }
+
+    private ShortUrl insert(UUID ownerId, String originalUrl, RedirectPolicy policy, String code) {
+        User owner = userRepository.getReferenceById(ownerId);
+        ShortUrl saved = shortUrlRepository.save(
+                new ShortUrl(code, originalUrl, buildShortUrl(code), urlHash(originalUrl), policy, owner));
+        linkChangeBus.publish(LinkChange.created(code));
+        markWriterOnCommit(ownerId);
+        return saved;
+    }
+
+    private List<ShortUrl> insertChunk(UUID ownerId, String[] originalUrls, List<Integer> indexes, List<String> codes) {
+        User owner = userRepository.getReferenceById(ownerId);
+        RedirectPolicy policy = redirectPolicy(null, null);
+        List<ShortUrl> chunk = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            String code = codes.get(i);
+            String originalUrl = originalUrls[indexes.get(i)];
+            chunk.add(new ShortUrl(code, originalUrl, buildShortUrl(code), urlHash(originalUrl), policy, owner));
+            linkChangeBus.publish(LinkChange.created(code));
+        }
+        markWriterOnCommit(ownerId);
+        return shortUrlRepository.saveAll(chunk);
+    }
+
+    private List<ShortUrl> insertAll(List<PendingCreate> creates, List<String> codes) {
+        Map<UUID, User> owners = new HashMap<>();
+        List<ShortUrl> rows = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            PendingCreate create = creates.get(i);
+            User owner = owners.computeIfAbsent(create.ownerId(), userRepository::getReferenceById);
+            String code = codes.get(i);
+            String originalUrl = create.originalUrl();
+            rows.add(new ShortUrl(code, originalUrl, buildShortUrl(code), urlHash(originalUrl),
+                    create.redirectPolicy(), owner));
+            linkChangeBus.publish(LinkChange.created(code));
+        }
+        owners.keySet().forEach(this::markWriterOnCommit);
+        return shortUrlRepository.saveAll(rows);
+    }
+
+    /**
+     * With read replicas, keeps the owner's reads on the primary for a while once this transaction has
+     * committed, so the link they just changed is in their next listing. Marking at commit rather
+     * than when the write starts also covers group commits, which run on the committer's thread.
+     */
+    private void markWriterOnCommit(UUID ownerId) {
+        if (recentWriters == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.add(ownerId);
+            }
+        });
+    }
+
+    private ShortUrl findDuplicate(UUID ownerId, String canonicalUrl, RedirectPolicy policy) {
+        byte[] hash = UrlNormalizer.fingerprint(canonicalUrl);
+        for (ShortUrl candidate : shortUrlRepository.findAllByOwnerIdAndUrlHashAndActiveTrue(ownerId, hash)) {
+            // Guard against fingerprint collisions; the index only narrows the candidates.
+            if (canonicalUrl.equals(UrlNormalizer.normalize(candidate.getOriginalUrl()).url())
+                    && candidate.getRedirectType() == policy.type()
+                    && candidate.getCacheMaxAge() == policy.maxAgeSeconds()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // Stored for every new row so dedupe can be switched on later without a backfill of new links.
+    private static byte[] urlHash(String canonicalUrl) {
+        return UrlNormalizer.fingerprint(canonicalUrl);
+    }
+
+    private static ShortUrl await(CompletableFuture<ShortUrl> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs {@code insert} in its own transaction with {@code count} newly generated codes. Without the
+     * issued-code filter, codes are not checked before the insert: a code left by the old random
+     * generator, or issued under a different scramble key, only shows up as a unique violation. When
+     * that happens and one of the codes is indeed taken, the insert is retried with new codes.
+     */
+    private <T> T insertWithFreshCodes(int count, Function<List<String>, T> insert) {
+        for (int attempt = 1; ; attempt++) {
+            List<String> codes = generateUniqueCodes(count);
+            try {
+                return transactionTemplate.execute(status -> insert.apply(codes));
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= MAX_GENERATION_ATTEMPTS || !shortUrlRepository.existsByCodeIn(codes)) {
+                    throw ex;
+                }
+                codeCollisions.increment();
+            }
+        }
+    }
+
+    private List<String> generateUniqueCodes(int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(generateUniqueCode());
+        }
+        return codes;
+    }
+
+    /**
+     * Called before the insert transaction opens: leasing a new id block takes a second pooled
+     * connection, and callers already holding one could otherwise exhaust the pool waiting on each
+     * other. Codes of inserts that roll back are simply never used.
+     *
+     * <p>Sequenced codes never repeat, but rows created by the old random generator share the same
+     * 7-character space. With the issued-code filter enabled, a fresh code is only checked against the
+     * table when the filter reports it as possibly issued; without it the unique constraint is the guard
+     * and {@link #insertWithFreshCodes} retries.
+     */
+    private String generateUniqueCode() {
+        if (issuedCodeFilter == null) {
+            return shortCodeGenerator.generate();
+        }
+        for (int attempt = 0; attempt < MAX_GENERATION_ATTEMPTS; attempt++) {
+            String candidate = shortCodeGenerator.generate();
+            if (!issuedCodeFilter.mightContain(candidate)) {
+                issuedCodeFilter.add(candidate);
+                return candidate;
+            }
+            codeExistenceChecks.increment();
+            // Archived codes stay reserved, so a possible match is checked against both tables.
+            if (!shortUrlRepository.existsByCode(candidate) && !archivedShortUrlRepository.existsByCode(candidate)) {
+                issuedCodeFilter.add(candidate);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Unable to generate unique short code");
+    }
+
+    private String buildShortUrl(String code) {
+        return baseUrl + "/r/" + code;
+    }
+
+    // The canonical form is what gets stored, hashed and redirected to.
+    private static String normalizeOrThrow(String originalUrl) {
+        UrlNormalizer.Result normalized = UrlNormalizer.normalize(originalUrl);
+        if (!normalized.isValid()) {
+            throw new IllegalArgumentException(normalized.error());
+        }
+        return normalized.url();
+    }
+}
@@ -8,27 +8,37 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    /**
+     * Hashes before the transaction opens: the hash can wait in the bounded hashing queue, and a
+     * registration burst must not hold pooled connections while it does.
+     */
     public User register(String email, String rawPassword) {
-        if (userRepository.existsByEmail(email)) {
-            throw new UserAlreadyExistsException("Email is already registered");
-        }
         String encoded = passwordEncoder.encode(rawPassword);
-        User user = new User(email, encoded);
-        return userRepository.save(user);
+        return transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(email)) {
+                throw new UserAlreadyExistsException("Email is already registered");
+            }
+            return userRepository.save(new User(email, encoded));
+        });
     }
 
     public User findByEmail(String email) {
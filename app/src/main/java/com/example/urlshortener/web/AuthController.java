@@ -7,6 +7,8 @@ import com.example.urlshortener.dto.RegisterRequest;
 import com.example.urlshortener.exception.InvalidCredentialsException;
 import com.example.urlshortener.service.JwtService;
 import com.example.urlshortener.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,11 +27,17 @@ public class AuthController {
     private final UserService userService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final Counter badCredentials;
 
-    public AuthController(UserService userService, JwtService jwtService, AuthenticationManager authenticationManager) {
+    public AuthController(UserService userService, JwtService jwtService, AuthenticationManager authenticationManager,
+                          MeterRegistry meterRegistry) {
         this.userService = userService;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.badCredentials = Counter.builder("shortener.auth.failures")
+                .description("Rejected authentication attempts")
+                .tag("reason", "bad_credentials")
+                .register(meterRegistry);
     }
 
     @PostMapping("/register")
@@ -48,6 +56,7 @@ public class AuthController {
             );
             authenticationManager.authenticate(authentication);
         } catch (AuthenticationException ex) {
+            badCredentials.increment();
             throw new InvalidCredentialsException("Invalid email or password");
         }
         User user = userService.findByEmail(request.getEmail());
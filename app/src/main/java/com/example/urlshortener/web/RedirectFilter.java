@@ -0,0 +1,127 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.domain.CodeRules;
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.service.ClickCounter;
+import com.example.urlshortener.service.UrlService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves {@code GET/HEAD /r/{code}} directly from the servlet filter chain, ahead of Spring Security
+ * and the {@code DispatcherServlet}. Misses are answered with an empty 404 instead of an exception,
+ * and malformed codes are rejected before any lookup. Hits carry the link's 301/302 status,
+ * {@code Cache-Control} and an {@code ETag}; a matching {@code If-None-Match} gets an empty 304.
+ * Only GETs count as clicks, including revalidated ones.
+ */
+public class RedirectFilter implements Filter {
+
+    static final String PATH_PREFIX = "/r/";
+
+    private final UrlService urlService;
+    private final ClickCounter clickCounter;
+    private final Timer foundTimer;
+    private final Timer notModifiedTimer;
+    private final Timer notFoundTimer;
+    private final Timer malformedTimer;
+
+    public RedirectFilter(UrlService urlService, ClickCounter clickCounter, MeterRegistry meterRegistry) {
+        this.urlService = urlService;
+        this.clickCounter = clickCounter;
+        this.foundTimer = redirectTimer(meterRegistry, "found");
+        this.notModifiedTimer = redirectTimer(meterRegistry, "not_modified");
+        this.notFoundTimer = redirectTimer(meterRegistry, "not_found");
+        this.malformedTimer = redirectTimer(meterRegistry, "malformed");
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length() + PATH_PREFIX.length();
+        if (!CodeRules.isValidCode(uri, start, uri.length())) {
+            notFound(response);
+            malformedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        String code = uri.substring(start);
+        Optional<RedirectTarget> resolved = urlService.resolveRedirect(code);
+        if (resolved.isEmpty()) {
+            notFound(response);
+            notFoundTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if ("GET".equals(method)) {
+            clickCounter.record(code);
+        }
+
+        RedirectTarget target = resolved.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, target.cacheControl());
+        response.setHeader(HttpHeaders.ETAG, target.etag());
+        if (notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), target.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            notModifiedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        response.setStatus(target.status());
+        response.setHeader(HttpHeaders.LOCATION, target.url());
+        foundTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer redirectTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("shortener.redirect")
+                .description("Time to resolve and answer GET/HEAD /r/{code}")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Weak comparison (RFC 9110 13.1.2): "*" or any listed tag, with or without W/, matches.
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notFound(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        response.setContentLength(0);
+    }
+}
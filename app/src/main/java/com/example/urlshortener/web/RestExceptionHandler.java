@@ -2,9 +2,11 @@ package com.example.urlshortener.web;
 
 import com.example.urlshortener.dto.ApiError;
 import com.example.urlshortener.exception.InvalidCredentialsException;
+import com.example.urlshortener.exception.PasswordHashingBusyException;
 import com.example.urlshortener.exception.ShortUrlNotFoundException;
 import com.example.urlshortener.exception.UserAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -37,6 +39,14 @@ public class RestExceptionHandler {
         return buildError(HttpStatus.UNAUTHORIZED, ex.getMessage(), request);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handleHashingBusy(PasswordHashingBusyException ex, HttpServletRequest request) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(buildError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request).getBody());
+    }
+
     @ExceptionHandler(ShortUrlNotFoundException.class)
     public ResponseEntity<ApiError> handleShortUrlNotFound(ShortUrlNotFoundException ex, HttpServletRequest request) {
         return buildError(HttpStatus.NOT_FOUND, ex.getMessage(), request);
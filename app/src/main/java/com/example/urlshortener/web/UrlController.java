@@ -0,0 +1,135 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.dto.BatchShortenItem;
+import com.example.urlshortener.dto.BatchShortenRequest;
+import com.example.urlshortener.dto.BatchShortenResponse;
+import com.example.urlshortener.dto.ShortUrlResponse;
+import com.example.urlshortener.dto.ShortenUrlRequest;
+import com.example.urlshortener.security.AuthenticatedUser;
+import com.example.urlshortener.service.BatchItemResult;
+import com.example.urlshortener.service.PageCursor;
+import com.example.urlshortener.service.UrlPage;
+import com.example.urlshortener.service.UrlService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+public class UrlController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final UrlService urlService;
+    private final ObjectMapper objectMapper;
+
+    public UrlController(UrlService urlService, ObjectMapper objectMapper) {
+        this.urlService = urlService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/shorten")
+    public ResponseEntity<ShortUrlResponse> shorten(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @Valid @RequestBody ShortenUrlRequest request) {
+        ShortUrl shortUrl = urlService.createShortUrl(
+                user.id(), request.getOriginalUrl(), request.getRedirectType(), request.getCacheMaxAge());
+        return ResponseEntity.ok(toResponse(shortUrl));
+    }
+
+    @PostMapping("/shorten/batch")
+    public ResponseEntity<BatchShortenResponse> shortenBatch(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @Valid @RequestBody BatchShortenRequest request) {
+        List<BatchItemResult> results = urlService.createShortUrls(user.id(), request.getOriginalUrls());
+        List<BatchShortenItem> items = results.stream()
+                .map(result -> new BatchShortenItem(
+                        result.index(),
+                        result.isSuccess() ? toResponse(result.shortUrl()) : null,
+                        result.error()))
+                .toList();
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        return ResponseEntity.ok(new BatchShortenResponse(succeeded, results.size() - succeeded, items));
+    }
+
+    @GetMapping("/urls")
+    public ResponseEntity<List<ShortUrlResponse>> list(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PageCursor after = cursor == null ? null : PageCursor.decode(cursor);
+        UrlPage page = urlService.getUrlsForUser(user.id(), after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().encode());
+        }
+        return response.body(page.items().stream().map(this::toResponse).toList());
+    }
+
+    @GetMapping("/urls/export")
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal AuthenticatedUser user) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            urlService.streamUrlsForUser(user.id(), row -> {
+                try {
+                    writer.writeValue(generator, row);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeRaw('\n');
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @DeleteMapping("/urls/{id}")
+    public ResponseEntity<Void> delete(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable UUID id) {
+        urlService.deactivateShortUrl(id, user.id());
+        return ResponseEntity.noContent().build();
+    }
+
+    private ShortUrlResponse toResponse(ShortUrl shortUrl) {
+        return new ShortUrlResponse(
+                shortUrl.getId(),
+                shortUrl.getOriginalUrl(),
+                shortUrl.getShortUrl(),
+                shortUrl.isActive(),
+                shortUrl.getCreatedAt(),
+                shortUrl.getClickCount(),
+                shortUrl.getRedirectType(),
+                shortUrl.getCacheMaxAge()
+        );
+    }
+}
+
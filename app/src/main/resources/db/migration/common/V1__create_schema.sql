@@ -0,0 +1,26 @@
+-- Schema as created by ddl-auto: update in the release before the migrations. Existing databases
+-- are baselined at this version (spring.flyway.baseline-on-migrate), so this script only runs on empty
+-- databases and must not change; later objects go in later versions.
+
+create table users (
+    id uuid not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    created_at timestamp(6) with time zone not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table short_urls (
+    id uuid not null,
+    code varchar(16) not null,
+    original_url varchar(2048) not null,
+    short_url varchar(512) not null,
+    active boolean not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    owner_id uuid not null,
+    constraint pk_short_urls primary key (id),
+    constraint uk_short_urls_code unique (code),
+    constraint fk_short_urls_owner foreign key (owner_id) references users (id)
+);
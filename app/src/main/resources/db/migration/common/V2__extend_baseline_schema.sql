@@ -0,0 +1,41 @@
+-- Everything added between the baseline release and the migrations. Databases from the releases in
+-- between were extended by ddl-auto: update and may already have some of it, so every statement
+-- skips objects that exist.
+
+create table if not exists code_blocks (
+    name varchar(64) not null,
+    next_value bigint not null,
+    constraint pk_code_blocks primary key (name)
+);
+
+alter table short_urls add column if not exists url_hash bytea;
+alter table short_urls add column if not exists redirect_type varchar(16) default 'TEMPORARY' not null;
+alter table short_urls add column if not exists cache_max_age integer default 0 not null;
+alter table short_urls add column if not exists click_count bigint default 0 not null;
+
+-- Owner listing and export: keyset pages ordered by created_at.
+create index if not exists idx_short_urls_owner_created on short_urls (owner_id, created_at);
+-- Redirect index and code filter refreshes tail rows by updated_at.
+create index if not exists idx_short_urls_updated on short_urls (updated_at);
+-- Archiver candidates: inactive rows by deactivation time.
+create index if not exists idx_short_urls_active_updated on short_urls (active, updated_at);
+-- Dedupe lookups by canonical URL fingerprint.
+create index if not exists idx_short_urls_owner_hash on short_urls (owner_id, url_hash);
+
+create table if not exists archived_short_urls (
+    id uuid not null,
+    code varchar(16) not null,
+    original_url varchar(2048) not null,
+    short_url varchar(512) not null,
+    owner_id uuid not null,
+    redirect_type varchar(16) not null,
+    cache_max_age integer not null,
+    click_count bigint not null,
+    created_at timestamp(6) with time zone not null,
+    deactivated_at timestamp(6) with time zone not null,
+    archived_at timestamp(6) with time zone not null,
+    constraint pk_archived_short_urls primary key (id),
+    constraint uk_archived_short_urls_code unique (code)
+);
+
+create index if not exists idx_archived_short_urls_owner on archived_short_urls (owner_id);
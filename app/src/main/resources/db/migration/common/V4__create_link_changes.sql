@@ -0,0 +1,12 @@
+-- Outbox for the link change bus (app.link-changes.bus=outbox). Nodes poll it by id; rows are
+-- pruned once older than app.link-changes.outbox.retention.
+create table link_changes (
+    id bigint generated by default as identity,
+    code varchar(16) not null,
+    change_type varchar(16) not null,
+    origin uuid not null,
+    created_at timestamp(6) with time zone not null,
+    constraint pk_link_changes primary key (id)
+);
+
+create index idx_link_changes_created on link_changes (created_at);
@@ -0,0 +1,3 @@
+-- H2 has neither partial indexes nor INCLUDE; keep the index name so both schemas list the same
+-- indexes. Redirect lookups on H2 are served by the unique index on code either way.
+create index idx_short_urls_active_code on short_urls (code, active);
@@ -0,0 +1,7 @@
+-- Covers the redirect lookup (code = ? and active = true) with every column it selects, so
+-- redirects are index-only scans once autovacuum has marked the pages all-visible. Only active rows
+-- are indexed, so deactivated links do not grow it. Built concurrently so baselined databases keep
+-- accepting writes meanwhile (see the .conf file next to this script).
+create index concurrently if not exists idx_short_urls_active_code on short_urls (code)
+    include (original_url, redirect_type, cache_max_age)
+    where active;
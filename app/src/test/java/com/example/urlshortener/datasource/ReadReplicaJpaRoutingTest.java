@@ -0,0 +1,125 @@
+package com.example.urlshortener.datasource;
+
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.security.AuthenticatedUser;
+import com.example.urlshortener.service.UrlService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing through JPA: the primary and the replica are distinct H2 databases holding different
+ * links for the same owner, so each listing shows which one it was read from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaJpaRoutingTest.PRIMARY_URL,
+        "app.read-replicas.enabled=true",
+        "app.read-replicas.urls=" + ReadReplicaJpaRoutingTest.REPLICA_URL,
+        "app.read-replicas.username=sa",
+        "app.read-replicas.password=password",
+        "app.read-replicas.read-your-writes=1m"
+})
+@ActiveProfiles("test")
+class ReadReplicaJpaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:jpaprimary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    static final String REPLICA_URL = "jdbc:h2:mem:jpareplica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    private static final DriverManagerDataSource REPLICA = new DriverManagerDataSource(REPLICA_URL, "sa", "password");
+
+    @Autowired
+    private UrlService urlService;
+
+    @Autowired
+    private RecentWriters recentWriters;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate jdbc : List.of(new JdbcTemplate(primaryDataSource), new JdbcTemplate(REPLICA))) {
+            jdbc.update("delete from short_urls");
+            jdbc.update("delete from users");
+        }
+    }
+
+    @Test
+    void readOnlyServiceCallsReadFromTheReplica() {
+        UUID owner = seedOwner();
+
+        assertThat(urlService.getUrlsForUser(owner, null, 10).items())
+                .extracting(ShortUrl::getOriginalUrl).containsExactly("https://replica.example/");
+        assertThat(streamedUrls(owner)).containsExactly("https://replica.example/");
+    }
+
+    @Test
+    void recentWritersReadFromThePrimary() {
+        UUID owner = seedOwner();
+        signIn(owner);
+        recentWriters.add(owner);
+
+        assertThat(urlService.getUrlsForUser(owner, null, 10).items())
+                .extracting(ShortUrl::getOriginalUrl).containsExactly("https://primary.example/");
+        assertThat(streamedUrls(owner)).containsExactly("https://primary.example/");
+
+        signIn(UUID.randomUUID());
+        assertThat(streamedUrls(owner)).containsExactly("https://replica.example/");
+    }
+
+    private UUID seedOwner() {
+        UUID owner = UUID.randomUUID();
+        insertLink(new JdbcTemplate(primaryDataSource), owner, "https://primary.example/");
+        insertLink(new JdbcTemplate(REPLICA), owner, "https://replica.example/");
+        return owner;
+    }
+
+    private List<String> streamedUrls(UUID owner) {
+        List<String> urls = new ArrayList<>();
+        urlService.streamUrlsForUser(owner, row -> urls.add(row.originalUrl()));
+        return urls;
+    }
+
+    private static void insertLink(JdbcTemplate jdbc, UUID owner, String originalUrl) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.update("insert into users (id, email, password, created_at) values (?, ?, ?, ?)",
+                owner, owner + "@example.com", "hash", now);
+        String code = originalUrl.contains("primary") ? "prim001" : "repl001";
+        jdbc.update("""
+                insert into short_urls (id, code, original_url, short_url, active, created_at, updated_at, owner_id)
+                values (?, ?, ?, ?, true, ?, ?, ?)
+                """, UUID.randomUUID(), code, originalUrl, "http://localhost:8080/r/" + code, now, now, owner);
+    }
+
+    private static void signIn(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, userId + "@example.com"), null, List.of()));
+    }
+}
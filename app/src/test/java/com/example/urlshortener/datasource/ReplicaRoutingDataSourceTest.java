@@ -0,0 +1,109 @@
+package com.example.urlshortener.datasource;
+
+import com.example.urlshortener.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica; each knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplicaAndEverythingElseToPrimary() {
+        Routing routing = routing(List.of(replica), Duration.ZERO);
+
+        assertThat(routing.read()).isEqualTo("replica");
+        assertThat(routing.write()).isEqualTo("primary");
+        // Outside a transaction nothing is known to be read-only.
+        assertThat(routing.jdbc.queryForObject("select name from node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsUnreachable() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        Routing routing = routing(List.of(unreachable), Duration.ZERO);
+
+        assertThat(routing.read()).isEqualTo("primary");
+        assertThat(routing.replicas.available()).isZero();
+    }
+
+    @Test
+    void keepsRecentWritersReadsOnPrimary() {
+        Routing routing = routing(List.of(replica), Duration.ofMinutes(1));
+        UUID writer = UUID.randomUUID();
+        signIn(writer);
+        assertThat(routing.read()).isEqualTo("replica");
+
+        // Opening a write transaction is not enough: the write may still roll back.
+        routing.write();
+        assertThat(routing.read()).isEqualTo("replica");
+
+        routing.recentWriters.add(writer);
+        assertThat(routing.read()).isEqualTo("primary");
+
+        signIn(UUID.randomUUID());
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    private Routing routing(List<DataSource> replicaPools, Duration readYourWrites) {
+        ReadReplicas replicas = new ReadReplicas(replicaPools, ReadReplicas.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+        RecentWriters recentWriters = new RecentWriters(readYourWrites);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicas, recentWriters, new SimpleMeterRegistry()));
+        return new Routing(replicas, recentWriters, new JdbcTemplate(routing), new DataSourceTransactionManager(routing));
+    }
+
+    private static void signIn(UUID userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, userId + "@example.com"), null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(16))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private record Routing(ReadReplicas replicas, RecentWriters recentWriters, JdbcTemplate jdbc,
+                           DataSourceTransactionManager transactionManager) {
+
+        String read() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template.execute(status -> jdbc.queryForObject("select name from node", String.class));
+        }
+
+        String write() {
+            return new TransactionTemplate(transactionManager)
+                    .execute(status -> jdbc.queryForObject("select name from node", String.class));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.urlshortener.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two bus instances over one in-memory H2 database stand in for two nodes.
+ */
+class OutboxLinkChangeBusTest {
+
+    private final JdbcTemplate jdbcTemplate = database();
+    private final TransactionTemplate transactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    private final List<String> seenByA = new CopyOnWriteArrayList<>();
+    private final List<String> seenByB = new CopyOnWriteArrayList<>();
+    private final OutboxLinkChangeBus nodeA = node(seenByA);
+    private final OutboxLinkChangeBus nodeB = node(seenByB);
+
+    @Test
+    void appliesCommittedChangesLocallyAndOnOtherNodesAfterTheirPoll() {
+        nodeA.poll();
+        nodeB.poll();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.publish(LinkChange.created("abc1234"));
+            nodeA.publish(LinkChange.deactivated("old1234"));
+            assertThat(seenByA).isEmpty();
+        });
+        assertThat(seenByA).containsExactly("CREATED abc1234", "DEACTIVATED old1234");
+        assertThat(seenByB).isEmpty();
+
+        nodeB.poll();
+        nodeA.poll();
+        assertThat(seenByB).containsExactly("CREATED abc1234", "DEACTIVATED old1234");
+        assertThat(seenByA).hasSize(2);
+    }
+
+    @Test
+    void dropsChangesOfRolledBackTransactions() {
+        nodeB.poll();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.publish(LinkChange.deactivated("abc1234"));
+            status.setRollbackOnly();
+        });
+        nodeB.poll();
+
+        assertThat(seenByA).isEmpty();
+        assertThat(seenByB).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from link_changes", Long.class)).isZero();
+    }
+
+    @Test
+    void rereadsIdsThatCommitAfterAHigherOne() {
+        nodeB.poll();
+        long last = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from link_changes", Long.class);
+
+        insertRow(last + 2, "late002");
+        nodeB.poll();
+        assertThat(seenByB).containsExactly("CREATED late002");
+
+        insertRow(last + 1, "late001");
+        nodeB.poll();
+        assertThat(seenByB).containsExactly("CREATED late002", "CREATED late001");
+    }
+
+    private OutboxLinkChangeBus node(List<String> seen) {
+        LinkChangeListener listener = change -> seen.add(change.type() + " " + change.code());
+        return new OutboxLinkChangeBus(jdbcTemplate, List.of(listener), new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    private void insertRow(long id, String code) {
+        jdbcTemplate.update("insert into link_changes (id, code, change_type, origin, created_at) values (?, ?, ?, ?, ?)",
+                id, code, "CREATED", UUID.randomUUID(), Timestamp.from(Instant.now()));
+    }
+
+    private static JdbcTemplate database() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:link-changes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V4__create_link_changes.sql"))
+                .execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.urlshortener.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The context only starts if Hibernate validates the entities against the migrated schema; this
+ * test additionally pins which migrations ran and the indexes the query paths rely on.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesEveryMigrationAndCreatesTheQueryIndexes() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3", "4");
+        assertThat(flyway.info().pending()).isEmpty();
+
+        assertThat(jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where lower(table_name) = 'short_urls'",
+                String.class))
+                .contains(
+                        "idx_short_urls_owner_created",
+                        "idx_short_urls_updated",
+                        "idx_short_urls_active_updated",
+                        "idx_short_urls_owner_hash",
+                        "idx_short_urls_active_code");
+    }
+
+    @Test
+    void upgradesDatabasesCreatedBeforeTheMigrations() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        // As left by ddl-auto: update in a release between the baseline and the migrations.
+        legacy.execute("create table users (id uuid not null primary key, email varchar(255) not null unique,"
+                + " password varchar(255) not null, created_at timestamp(6) with time zone not null)");
+        legacy.execute("create table short_urls (id uuid not null primary key, code varchar(16) not null unique,"
+                + " original_url varchar(2048) not null, short_url varchar(512) not null, active boolean not null,"
+                + " created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null,"
+                + " owner_id uuid not null references users (id), click_count bigint not null)");
+
+        Flyway legacyFlyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .load();
+        legacyFlyway.migrate();
+
+        assertThat(Arrays.stream(legacyFlyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3", "4");
+        assertThat(legacy.queryForList(
+                "select lower(column_name) from information_schema.columns where lower(table_name) = 'short_urls'",
+                String.class))
+                .contains("url_hash", "redirect_type", "cache_max_age", "click_count");
+        assertThat(legacy.queryForObject(
+                "select count(*) from information_schema.tables where lower(table_name) in"
+                        + " ('code_blocks', 'archived_short_urls', 'link_changes')",
+                Integer.class))
+                .isEqualTo(3);
+    }
+}
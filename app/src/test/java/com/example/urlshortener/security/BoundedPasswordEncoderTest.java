@@ -0,0 +1,60 @@
+package com.example.urlshortener.security;
+
+import com.example.urlshortener.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsOnceWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                slow, 1, 1, Duration.ofSeconds(2), new SimpleMeterRegistry())) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash:b"));
+            while (encoder.queuedTasks() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .satisfies(ex -> assertThat(((PasswordHashingBusyException) ex).getRetryAfter())
+                            .isEqualTo(Duration.ofSeconds(2)));
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(encoder.encode("d")).isEqualTo("hash:d");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.urlshortener.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClickCounterTest {
+
+    @Test
+    void flushesEveryHitOnceWhileIdleCodesAreDropped() throws InterruptedException {
+        ConcurrentHashMap<String, Long> flushed = new ConcurrentHashMap<>();
+        ClickCounter counter = new ClickCounter(new JdbcTemplate() {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                for (Object[] args : batchArgs) {
+                    flushed.merge((String) args[1], (Long) args[0], Long::sum);
+                }
+                return new int[batchArgs.size()];
+            }
+        });
+
+        int threads = 4;
+        int hitsPerThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < hitsPerThread; i++) {
+                    // Sparse hits on many codes keep the flush retiring codes that are still being hit.
+                    counter.record("code" + (i % 64));
+                }
+                done.countDown();
+            }).start();
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                counter.flush();
+            }
+        });
+        flusher.start();
+        done.await();
+        running.set(false);
+        flusher.join();
+        counter.flush();
+        counter.flush();
+
+        assertThat(flushed.values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo((long) threads * hitsPerThread);
+        assertThat(flushed).hasSize(64);
+    }
+}
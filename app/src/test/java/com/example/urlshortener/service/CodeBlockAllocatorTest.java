@@ -0,0 +1,69 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.repository.CodeBlockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:allocatordb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@ActiveProfiles("test")
+class CodeBlockAllocatorTest {
+
+    private static final int IDS_PER_NODE = 2_000;
+
+    @Autowired
+    private CodeBlockRepository codeBlockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentNodesNeverLeaseOverlappingBlocks() throws Exception {
+        // Both nodes also race to create the sequence row.
+        codeBlockRepository.deleteAll();
+        List<CodeBlockAllocator> nodes = List.of(allocator(), allocator());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<Future<List<Long>>> leased = new ArrayList<>();
+            for (CodeBlockAllocator node : nodes) {
+                leased.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> ids = new ArrayList<>(IDS_PER_NODE);
+                    for (int i = 0; i < IDS_PER_NODE; i++) {
+                        ids.add(node.nextId());
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> unique = new HashSet<>();
+            for (Future<List<Long>> ids : leased) {
+                unique.addAll(ids.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(unique).hasSize(IDS_PER_NODE * nodes.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CodeBlockAllocator allocator() {
+        return new CodeBlockAllocator(codeBlockRepository, transactionManager, new SimpleMeterRegistry(), 7);
+    }
+}
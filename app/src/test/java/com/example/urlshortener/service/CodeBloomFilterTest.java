@@ -0,0 +1,30 @@
+package com.example.urlshortener.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeBloomFilterTest {
+
+    @Test
+    void neverForgetsAddedCodesAndKeepsFalsePositivesNearTheTarget() {
+        ShortCodeGenerator generator = new ShortCodeGenerator(null, "test-scramble-key");
+        CodeBloomFilter filter = new CodeBloomFilter(100_000, 0.01);
+
+        for (long id = 1; id <= 100_000; id++) {
+            filter.add(generator.encode(id));
+        }
+        for (long id = 1; id <= 100_000; id++) {
+            assertThat(filter.mightContain(generator.encode(id))).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (long id = 100_001; id <= 200_000; id++) {
+            if (filter.mightContain(generator.encode(id))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.approximateInsertions()).isBetween(99_000L, 100_000L);
+    }
+}
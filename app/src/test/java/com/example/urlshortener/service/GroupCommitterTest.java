@@ -0,0 +1,139 @@
+package com.example.urlshortener.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    @Test
+    void coalescesConcurrentItemsAndIsolatesFailures() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        GroupCommitter<Integer, String> committer = new GroupCommitter<>(
+                "test", 50, Duration.ofMillis(200), 1000,
+                items -> {
+                    batchSizes.add(items.size());
+                    if (items.contains(13)) {
+                        throw new IllegalStateException("batch rejected");
+                    }
+                    return items.stream().map(i -> "row-" + i).toList();
+                },
+                item -> {
+                    if (item == 13) {
+                        throw new IllegalArgumentException("bad item");
+                    }
+                    return "single-" + item;
+                },
+                new SimpleMeterRegistry());
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(committer.submit(i));
+        }
+        committer.close();
+
+        assertThat(batchSizes).hasSizeLessThan(20);
+        assertThat(results.get(0).join()).isIn("row-0", "single-0");
+        assertThat(results.get(12).join()).startsWith("single-");
+        assertThatThrownBy(() -> results.get(13).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(committer.submit(99)).isNull();
+    }
+
+    @Test
+    void survivesErrorsFromTheWriters() {
+        GroupCommitter<Integer, Integer> committer = new GroupCommitter<>(
+                "test", 50, Duration.ZERO, 1000,
+                items -> {
+                    throw new AssertionError("driver bug");
+                },
+                item -> {
+                    if (item == 1) {
+                        throw new StackOverflowError();
+                    }
+                    return item;
+                },
+                new SimpleMeterRegistry());
+
+        CompletableFuture<Integer> failing = committer.submit(1);
+        assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(StackOverflowError.class);
+        CompletableFuture<Integer> next = committer.submit(2);
+        assertThat(next).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(2);
+        committer.close();
+    }
+
+    @Test
+    void failsQueuedItemsWhenCloseTimesOut() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GroupCommitter<Integer, Integer> committer = new GroupCommitter<>(
+                "test", 1, Duration.ZERO, 1000,
+                items -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return items;
+                },
+                item -> item,
+                new SimpleMeterRegistry());
+
+        CompletableFuture<Integer> inFlight = committer.submit(1);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> queued = committer.submit(2);
+        committer.close(Duration.ofMillis(50));
+
+        assertThat(queued).isCompletedExceptionally();
+        release.countDown();
+        assertThat(inFlight).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(1);
+    }
+
+    @Test
+    void completesEverythingAcceptedWhileClosing() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            GroupCommitter<Integer, Integer> committer = new GroupCommitter<>(
+                    "test", 50, Duration.ZERO, 1000, items -> items, item -> item, new SimpleMeterRegistry());
+            List<CompletableFuture<Integer>> accepted = new CopyOnWriteArrayList<>();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; ; i++) {
+                        CompletableFuture<Integer> result = committer.submit(i);
+                        if (result == null) {
+                            return;
+                        }
+                        accepted.add(result);
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            started.await();
+            committer.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            for (CompletableFuture<Integer> result : accepted) {
+                assertThat(result).succeedsWithin(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
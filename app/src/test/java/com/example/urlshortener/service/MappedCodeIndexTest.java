@@ -0,0 +1,74 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCodeIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesUpdatesAndDeactivatesCodes() throws Exception {
+        try (MappedCodeIndex index = MappedCodeIndex.open(directory, 64)) {
+            for (int i = 0; i < 48; i++) {
+                assertThat(index.put("c" + i, temporary("https://example.com/" + i), true)).isTrue();
+            }
+            assertThat(index.put("overflow", temporary("https://example.com/overflow"), true)).isFalse();
+
+            assertThat(index.lookup("c42").map(RedirectTarget::url)).contains("https://example.com/42");
+            assertThat(index.lookup("missing")).isNull();
+
+            index.put("c42", temporary("https://example.com/moved"), true);
+            assertThat(index.lookup("c42").map(RedirectTarget::url)).contains("https://example.com/moved");
+
+            assertThat(index.markInactive("c7")).isTrue();
+            assertThat(index.lookup("c7")).isEqualTo(Optional.empty());
+            assertThat(index.size()).isEqualTo(48);
+        }
+    }
+
+    @Test
+    void reusesCleanlyClosedFilesOnly() throws Exception {
+        try (MappedCodeIndex index = MappedCodeIndex.open(directory, 64)) {
+            index.put("abc1234", temporary("https://example.com/é"), true);
+            index.setWatermarkMicros(123);
+        }
+
+        MappedCodeIndex reopened = MappedCodeIndex.open(directory, 64);
+        assertThat(reopened.restored()).isTrue();
+        assertThat(reopened.watermarkMicros()).isEqualTo(123);
+        assertThat(reopened.lookup("abc1234").map(RedirectTarget::url)).contains("https://example.com/é");
+
+        // Not closed: the next open must discard the contents.
+        MappedCodeIndex afterCrash = MappedCodeIndex.open(directory, 64);
+        assertThat(afterCrash.restored()).isFalse();
+        assertThat(afterCrash.lookup("abc1234")).isNull();
+        afterCrash.close();
+    }
+
+    @Test
+    void keepsRedirectPolicyAcrossDeactivation() throws Exception {
+        try (MappedCodeIndex index = MappedCodeIndex.open(directory, 64)) {
+            RedirectTarget permanent = new RedirectTarget("https://example.com/p", RedirectType.PERMANENT, 86400);
+            index.put("perm1", permanent, true);
+            assertThat(index.lookup("perm1")).contains(permanent);
+
+            index.markInactive("perm1");
+            assertThat(index.lookup("perm1")).isEqualTo(Optional.empty());
+            index.put("perm1", permanent, true);
+            assertThat(index.lookup("perm1")).contains(permanent);
+        }
+    }
+
+    private static RedirectTarget temporary(String url) {
+        return new RedirectTarget(url, RedirectType.TEMPORARY, 0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.events.LinkChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedirectCacheTest {
+
+    private final RedirectCache cache =
+            new RedirectCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+    @Test
+    void dropsLoadThatOverlappedDeactivation() {
+        RedirectTarget target = new RedirectTarget("https://example.com", RedirectType.TEMPORARY, 0);
+
+        // The load read the row before the deactivation committed and was published.
+        Optional<RedirectTarget> stale = cache.get("abc1234", code -> {
+            cache.onLinkChange(LinkChange.deactivated(code));
+            return Optional.of(target);
+        });
+
+        assertThat(stale).contains(target);
+        assertThat(cache.get("abc1234", code -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    void keepsLoadWithoutOverlappingChange() {
+        RedirectTarget target = new RedirectTarget("https://example.com", RedirectType.TEMPORARY, 0);
+
+        cache.get("abc1234", code -> Optional.of(target));
+
+        assertThat(cache.get("abc1234", code -> Optional.empty())).contains(target);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.CodeRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShortCodeGeneratorTest {
+
+    @Test
+    void scrambledCodesAreUniqueFixedLengthAndValid() {
+        ShortCodeGenerator generator = new ShortCodeGenerator(null, "test-scramble-key");
+        Set<String> codes = new HashSet<>();
+
+        for (long id = 1; id <= 100_000; id++) {
+            String code = generator.encode(id);
+            assertThat(code).hasSize(7);
+            assertThat(CodeRules.isValidCode(code)).isTrue();
+            codes.add(code);
+        }
+
+        assertThat(codes).hasSize(100_000);
+        assertThat(generator.encode(2)).isNotEqualTo("0000002");
+    }
+
+    @Test
+    void unscrambledCodesAreBase62OfTheId() {
+        ShortCodeGenerator generator = new ShortCodeGenerator(null, "");
+
+        assertThat(generator.encode(1)).isEqualTo("0000001");
+        assertThat(generator.encode(62)).isEqualTo("0000010");
+        assertThatThrownBy(() -> generator.encode(3_521_614_606_208L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.domain.User;
+import com.example.urlshortener.repository.ArchivedShortUrlRepository;
+import com.example.urlshortener.repository.ShortUrlRepository;
+import com.example.urlshortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.archive.enabled=true",
+        "app.archive.retention=0s",
+        "app.archive.chunk-size=2",
+        "app.archive.chunk-interval=1h"
+})
+@ActiveProfiles("test")
+class ShortUrlArchiverIntegrationTest {
+
+    @Autowired
+    private ShortUrlArchiver archiver;
+
+    @Autowired
+    private UrlService urlService;
+
+    @Autowired
+    private IssuedCodeFilter issuedCodeFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShortUrlRepository shortUrlRepository;
+
+    @Autowired
+    private ArchivedShortUrlRepository archivedShortUrlRepository;
+
+    @AfterEach
+    void tearDown() {
+        archivedShortUrlRepository.deleteAll();
+        shortUrlRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void movesDeactivatedLinksInChunksAndKeepsTheirCodesReserved() throws Exception {
+        User owner = userRepository.save(new User("archive@example.com", "hash"));
+        List<ShortUrl> deactivated = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ShortUrl link = urlService.createShortUrl(owner.getId(), "https://example.com/old/" + i);
+            urlService.deactivateShortUrl(link.getId(), owner.getId());
+            deactivated.add(link);
+        }
+        ShortUrl live = urlService.createShortUrl(owner.getId(), "https://example.com/live");
+        Thread.sleep(10);
+
+        assertThat(archiver.archiveChunk()).isEqualTo(2);
+        assertThat(archiver.archiveChunk()).isEqualTo(1);
+        assertThat(archiver.archiveChunk()).isZero();
+
+        assertThat(shortUrlRepository.findAll()).extracting(ShortUrl::getCode).containsExactly(live.getCode());
+        assertThat(archivedShortUrlRepository.count()).isEqualTo(3);
+
+        issuedCodeFilter.refresh();
+        for (ShortUrl link : deactivated) {
+            assertThat(archivedShortUrlRepository.existsByCode(link.getCode())).isTrue();
+            assertThat(issuedCodeFilter.mightContain(link.getCode())).isTrue();
+            assertThat(urlService.resolveRedirect(link.getCode())).isEmpty();
+        }
+    }
+}
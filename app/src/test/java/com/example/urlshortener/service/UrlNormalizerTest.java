@@ -0,0 +1,41 @@
+package com.example.urlshortener.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlNormalizerTest {
+
+    @ParameterizedTest(name = "{0}")
+    @CsvFileSource(resources = "/url-normalization-corpus.tsv", delimiter = '\t')
+    void normalizesCorpus(String input, String expected) {
+        UrlNormalizer.Result result = UrlNormalizer.normalize(input);
+
+        if (expected.startsWith("!")) {
+            assertThat(result.isValid()).isFalse();
+            assertThat(result.error()).isEqualTo(expected.substring(1));
+        } else {
+            assertThat(result.error()).isNull();
+            assertThat(result.url()).isEqualTo(expected);
+            // Canonical output must be a fixed point.
+            assertThat(UrlNormalizer.normalize(result.url()).url()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void enforcesMaximumLengthBeforeAndAfterEncoding() {
+        String path = "a".repeat(UrlNormalizer.MAX_LENGTH - "https://example.com/".length());
+        assertThat(UrlNormalizer.normalize("https://example.com/" + path).isValid()).isTrue();
+        assertThat(UrlNormalizer.normalize("https://example.com/" + path + "a")).isSameAs(UrlNormalizer.TOO_LONG);
+        // Each space becomes three characters once encoded.
+        assertThat(UrlNormalizer.normalize("https://example.com/" + " x".repeat(700))).isSameAs(UrlNormalizer.TOO_LONG);
+    }
+
+    @Test
+    void trimsSurroundingWhitespace() {
+        assertThat(UrlNormalizer.normalize("  https://example.com/a\n").url()).isEqualTo("https://example.com/a");
+        assertThat(UrlNormalizer.normalize(" \t ")).isSameAs(UrlNormalizer.BLANK);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.domain.RedirectPolicy;
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.domain.User;
+import com.example.urlshortener.repository.ShortUrlRepository;
+import com.example.urlshortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Without the issued-code filter nothing checks a fresh code before the insert, so a row left by the
+ * old random generator is only found through the unique constraint.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:collisiondb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.code-filter.enabled=false"
+})
+@ActiveProfiles("test")
+class UrlServiceCodeCollisionTest {
+
+    @Autowired
+    private UrlService urlService;
+
+    @Autowired
+    private CodeBlockAllocator allocator;
+
+    @Autowired
+    private ShortCodeGenerator shortCodeGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShortUrlRepository shortUrlRepository;
+
+    @AfterEach
+    void tearDown() {
+        shortUrlRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void retriesSingleInsertsWhenTheCodeIsAlreadyTaken() {
+        User owner = userRepository.save(new User("single@example.com", "hash"));
+        long next = allocator.nextId() + 1;
+        storeLegacyLink(shortCodeGenerator.encode(next), owner);
+
+        ShortUrl created = urlService.createShortUrl(owner.getId(), "https://example.com/fresh");
+
+        assertThat(created.getCode()).isEqualTo(shortCodeGenerator.encode(next + 1));
+    }
+
+    @Test
+    void retriesBatchChunksWhenOneOfTheirCodesIsAlreadyTaken() {
+        User owner = userRepository.save(new User("batch@example.com", "hash"));
+        long next = allocator.nextId() + 1;
+        storeLegacyLink(shortCodeGenerator.encode(next + 1), owner);
+
+        List<BatchItemResult> results = urlService.createShortUrls(
+                owner.getId(), List.of("https://example.com/a", "https://example.com/b"));
+
+        assertThat(results).allMatch(BatchItemResult::isSuccess);
+        assertThat(results).extracting(result -> result.shortUrl().getCode())
+                .containsExactly(shortCodeGenerator.encode(next + 2), shortCodeGenerator.encode(next + 3));
+    }
+
+    private void storeLegacyLink(String code, User owner) {
+        shortUrlRepository.save(new ShortUrl(code, "https://legacy.example/", "http://localhost:8080/r/" + code,
+                null, new RedirectPolicy(RedirectType.TEMPORARY, 0), owner));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.datasource.RecentWriters;
+import com.example.urlshortener.domain.ShortUrl;
+import com.example.urlshortener.domain.User;
+import com.example.urlshortener.repository.ShortUrlRepository;
+import com.example.urlshortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The "replica" is the primary's own database; only the routing decisions matter here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rywdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.read-replicas.enabled=true",
+        "app.read-replicas.urls=jdbc:h2:mem:rywdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "app.read-replicas.read-your-writes=1m",
+        "app.group-commit.enabled=true"
+})
+@ActiveProfiles("test")
+class UrlServiceReadYourWritesTest {
+
+    @Autowired
+    private UrlService urlService;
+
+    @Autowired
+    private RecentWriters recentWriters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShortUrlRepository shortUrlRepository;
+
+    @AfterEach
+    void tearDown() {
+        shortUrlRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void marksOwnersOnceTheirWritesCommit() {
+        User creator = userRepository.save(new User("creator@example.com", "hash"));
+        User batchCreator = userRepository.save(new User("batch@example.com", "hash"));
+        User reader = userRepository.save(new User("reader@example.com", "hash"));
+
+        // Written by the group committer's thread, not the caller's.
+        ShortUrl link = urlService.createShortUrl(creator.getId(), "https://example.com/a");
+        assertThat(recentWriters.contains(creator.getId())).isTrue();
+
+        urlService.createShortUrls(batchCreator.getId(), List.of("https://example.com/b"));
+        assertThat(recentWriters.contains(batchCreator.getId())).isTrue();
+
+        assertThatThrownBy(() -> urlService.deactivateShortUrl(link.getId(), reader.getId()));
+        assertThat(recentWriters.contains(reader.getId())).isFalse();
+    }
+}
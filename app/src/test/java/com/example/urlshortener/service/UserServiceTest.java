@@ -0,0 +1,59 @@
+package com.example.urlshortener.service;
+
+import com.example.urlshortener.exception.UserAlreadyExistsException;
+import com.example.urlshortener.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:userdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void hashesOutsideTheRegistrationTransaction() {
+        List<Boolean> transactionActive = new CopyOnWriteArrayList<>();
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        UserService userService = new UserService(userRepository, encoder, transactionManager);
+
+        assertThat(userService.register("new@example.com", "secret").getPassword()).isEqualTo("hash:secret");
+        assertThatThrownBy(() -> userService.register("new@example.com", "other"))
+                .isInstanceOf(UserAlreadyExistsException.class);
+
+        assertThat(transactionActive).containsExactly(false, false);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+}
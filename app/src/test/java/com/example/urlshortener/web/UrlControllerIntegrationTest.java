@@ -0,0 +1,292 @@
+package com.example.urlshortener.web;
+
+import com.example.urlshortener.domain.RedirectType;
+import com.example.urlshortener.dto.BatchShortenRequest;
+import com.example.urlshortener.dto.ShortenUrlRequest;
+import com.example.urlshortener.service.ClickCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UrlControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private com.example.urlshortener.repository.UserRepository userRepository;
+
+    @Autowired
+    private com.example.urlshortener.repository.ShortUrlRepository shortUrlRepository;
+
+    @Autowired
+    private ClickCounter clickCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        shortUrlRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldShortenListRedirectAndDeactivateUrl() throws Exception {
+        String token = registerAndFetchToken("owner@example.com", "Secret123!");
+
+        ShortenUrlRequest shortenRequest = new ShortenUrlRequest("https://example.com/resource");
+        MvcResult shortenResult = mockMvc.perform(post("/api/shorten")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(shortenRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode shortenJson = objectMapper.readTree(shortenResult.getResponse().getContentAsString());
+        UUID shortUrlId = UUID.fromString(shortenJson.get("id").asText());
+        String shortUrl = shortenJson.get("shortUrl").asText();
+        String code = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+
+        MvcResult listResult = mockMvc.perform(get("/api/urls")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode list = objectMapper.readTree(listResult.getResponse().getContentAsString());
+        assertThat(list.isArray()).isTrue();
+        assertThat(list.get(0).get("shortUrl").asText()).isEqualTo(shortUrl);
+        assertThat(list.get(0).get("active").asBoolean()).isTrue();
+
+        mockMvc.perform(get("/r/{code}", code))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "https://example.com/resource"));
+
+        clickCounter.flush();
+        MvcResult afterRedirectResult = mockMvc.perform(get("/api/urls")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode afterRedirect = objectMapper.readTree(afterRedirectResult.getResponse().getContentAsString());
+        assertThat(afterRedirect.get(0).get("clickCount").asLong()).isEqualTo(1);
+
+        mockMvc.perform(delete("/api/urls/{id}", shortUrlId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/r/{code}", code))
+                .andExpect(status().isNotFound());
+
+        MvcResult afterDeleteResult = mockMvc.perform(get("/api/urls")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode afterDelete = objectMapper.readTree(afterDeleteResult.getResponse().getContentAsString());
+        assertThat(afterDelete.get(0).get("active").asBoolean()).isFalse();
+    }
+
+    @Test
+    void repeatedUrlReturnsTheOwnersExistingActiveLink() throws Exception {
+        String token = registerAndFetchToken("dedupe@example.com", "Secret123!");
+
+        JsonNode first = shorten(token, "https://Example.com:443/docs?page=1");
+        JsonNode repeat = shorten(token, "https://example.com./docs?page=1");
+        JsonNode different = shorten(token, "https://example.com/docs?page=2");
+
+        assertThat(repeat.get("id")).isEqualTo(first.get("id"));
+        assertThat(different.get("id")).isNotEqualTo(first.get("id"));
+
+        String otherToken = registerAndFetchToken("other@example.com", "Secret123!");
+        assertThat(shorten(otherToken, "https://example.com/docs?page=1").get("id")).isNotEqualTo(first.get("id"));
+
+        mockMvc.perform(delete("/api/urls/{id}", first.get("id").asText())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        assertThat(shorten(token, "https://example.com/docs?page=1").get("id")).isNotEqualTo(first.get("id"));
+    }
+
+    @Test
+    void unauthorizedRequestsAreRejected() throws Exception {
+        mockMvc.perform(post("/api/shorten")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ShortenUrlRequest("https://example.com"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void batchShortenStoresValidUrlsAndReportsInvalidOnes() throws Exception {
+        String token = registerAndFetchToken("batch@example.com", "Secret123!");
+        BatchShortenRequest batchRequest = new BatchShortenRequest(Arrays.asList(
+                "https://example.com/a",
+                "ftp://example.com/b",
+                "https://example.com/c",
+                null,
+                "https://example.com/e"));
+
+        MvcResult batchResult = mockMvc.perform(post("/api/shorten/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode batch = objectMapper.readTree(batchResult.getResponse().getContentAsString());
+        assertThat(batch.get("succeeded").asInt()).isEqualTo(3);
+        assertThat(batch.get("failed").asInt()).isEqualTo(2);
+        assertThat(batch.get("items").get(1).get("error").asText()).isEqualTo("URL must use http or https scheme");
+        assertThat(batch.get("items").get(3).get("error").asText()).isEqualTo("URL must not be blank");
+
+        String shortUrl = batch.get("items").get(4).get("shortUrl").get("shortUrl").asText();
+        mockMvc.perform(get("/r/{code}", shortUrl.substring(shortUrl.lastIndexOf('/') + 1)))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "https://example.com/e"));
+    }
+
+    @Test
+    void listPagesByCursorAndExportStreamsNdjson() throws Exception {
+        String token = registerAndFetchToken("pages@example.com", "Secret123!");
+        mockMvc.perform(post("/api/shorten/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(new BatchShortenRequest(Arrays.asList(
+                                "https://example.com/1", "https://example.com/2", "https://example.com/3")))))
+                .andExpect(status().isOk());
+
+        MvcResult firstPage = mockMvc.perform(get("/api/urls").param("limit", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+        assertThat(objectMapper.readTree(firstPage.getResponse().getContentAsString())).hasSize(2);
+
+        MvcResult secondPage = mockMvc.perform(get("/api/urls").param("limit", "2")
+                        .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor"))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andReturn();
+        assertThat(objectMapper.readTree(secondPage.getResponse().getContentAsString())).hasSize(1);
+
+        MvcResult export = mockMvc.perform(get("/api/urls/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(ndjson.strip().split("\n")).hasSize(3);
+    }
+
+    @Test
+    void redirectForUnknownOrMalformedCodeReturnsEmptyNotFound() throws Exception {
+        mockMvc.perform(get("/r/{code}", "zzzzzzz"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/r/not-a-code"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(""));
+
+        assertThat(meterRegistry.get("shortener.redirect").tag("outcome", "not_found").timer().count()).isPositive();
+        assertThat(meterRegistry.get("shortener.redirect").tag("outcome", "malformed").timer().count()).isPositive();
+    }
+
+    @Test
+    void permanentLinksAreCacheableAndRevalidate() throws Exception {
+        String token = registerAndFetchToken("permanent@example.com", "Secret123!");
+        ShortenUrlRequest request = new ShortenUrlRequest("https://example.com/pricing");
+        request.setRedirectType(RedirectType.PERMANENT);
+        request.setCacheMaxAge(3600);
+        MvcResult shortenResult = mockMvc.perform(post("/api/shorten")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode json = objectMapper.readTree(shortenResult.getResponse().getContentAsString());
+        assertThat(json.get("redirectType").asText()).isEqualTo("PERMANENT");
+        String shortUrl = json.get("shortUrl").asText();
+        String code = shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+
+        String etag = mockMvc.perform(get("/r/{code}", code))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string("Location", "https://example.com/pricing"))
+                .andExpect(header().string("Cache-Control", "public, max-age=3600"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/r/{code}", code).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().doesNotExist("Location"));
+
+        mockMvc.perform(head("/r/{code}", code))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        clickCounter.flush();
+        assertThat(shortUrlRepository.findAll().get(0).getClickCount()).isEqualTo(2);
+
+        String temporaryUrl = shorten(token, "https://example.com/temporary").get("shortUrl").asText();
+        mockMvc.perform(get("/r/{code}", temporaryUrl.substring(temporaryUrl.lastIndexOf('/') + 1)))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    private JsonNode shorten(String token, String url) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/shorten")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(new ShortenUrlRequest(url))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String registerAndFetchToken(String email, String password) throws Exception {
+        String requestBody = """
+                {"email":"%s","password":"%s"}
+                """.formatted(email, password);
+
+        MvcResult result = mockMvc.perform(post("/api/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode json = objectMapper.readTree(result.getResponse().getContentAsString());
+        return json.get("token").asText();
+    }
+}
+
@@ -0,0 +1,28 @@
+package com.example.urlshortener.loadgen;
+
+/**
+ * A seeded user. The token is replaced whenever a {@link Operation#LOGIN} for the user succeeds,
+ * so long runs keep working past the token's expiry as long as the mix includes logins.
+ */
+final class Account {
+
+    private final String email;
+    private volatile String token;
+
+    Account(String email, String token) {
+        this.email = email;
+        this.token = token;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.urlshortener.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds requests against the shortener's API and reads the few response fields the load generator
+ * needs. Request bodies mirror the application's DTOs ({@code RegisterRequest}, {@code LoginRequest},
+ * {@code ShortenUrlRequest}, {@code BatchShortenRequest}).
+ */
+final class ApiClient {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUrl;
+    private final URI redirectUrl;
+    private final Duration timeout;
+
+    ApiClient(HttpClient httpClient, LoadConfig config) {
+        this.httpClient = httpClient;
+        this.baseUrl = config.baseUrl();
+        this.redirectUrl = config.redirectUrl();
+        this.timeout = config.timeout();
+    }
+
+    HttpRequest register(String email, String password) {
+        return post("/api/register", null, Map.of("email", email, "password", password));
+    }
+
+    HttpRequest login(String email, String password) {
+        return post("/api/login", null, Map.of("email", email, "password", password));
+    }
+
+    HttpRequest shorten(String token, String originalUrl) {
+        return post("/api/shorten", token, Map.of("originalUrl", originalUrl));
+    }
+
+    HttpRequest shortenBatch(String token, List<String> originalUrls) {
+        return post("/api/shorten/batch", token, Map.of("originalUrls", originalUrls));
+    }
+
+    HttpRequest list(String token, int limit) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/urls?limit=" + limit))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    HttpRequest redirect(String code) {
+        return HttpRequest.newBuilder(URI.create(redirectUrl + "/r/" + code))
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Sends a seeding request, retrying {@code 429} answers (the password hashing pool is full) with
+     * backoff, and fails on any other non-{@code 200} status.
+     */
+    String sendForBody(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status == 200) {
+                return response.body();
+            }
+            if (status == 429 && attempt < MAX_ATTEMPTS) {
+                Thread.sleep(100L << attempt);
+                continue;
+            }
+            throw new IOException(request.method() + " " + request.uri() + " answered " + status + ": "
+                    + response.body());
+        }
+    }
+
+    String token(String authResponse) {
+        return read(authResponse).path("token").asText();
+    }
+
+    /**
+     * Codes of the links a {@code BatchShortenResponse} reports as created, in request order.
+     */
+    List<String> createdCodes(String batchResponse) {
+        JsonNode items = read(batchResponse).path("items");
+        List<String> codes = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            String shortUrl = item.path("shortUrl").path("shortUrl").asText(null);
+            if (shortUrl != null) {
+                codes.add(shortUrl.substring(shortUrl.lastIndexOf('/') + 1));
+            }
+        }
+        return codes;
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(write(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
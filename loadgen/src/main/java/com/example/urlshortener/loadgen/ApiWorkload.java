@@ -0,0 +1,48 @@
+package com.example.urlshortener.loadgen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The shortener workload: redirects for seeded codes drawn from a Zipfian distribution, and
+ * shortens, listings and logins as uniformly chosen seeded users. Links created during the run are
+ * not added to the redirect set, so the popularity distribution stays fixed.
+ */
+final class ApiWorkload implements Workload {
+
+    private final ApiClient api;
+    private final LoadConfig config;
+    private final List<Account> accounts;
+    private final String[] codes;
+    private final String urlPrefix;
+    private final ZipfianSampler sampler;
+    private long shortened;
+
+    ApiWorkload(ApiClient api, LoadConfig config, Dataset dataset) {
+        this.api = api;
+        this.config = config;
+        this.accounts = dataset.accounts();
+        this.codes = dataset.codes();
+        this.urlPrefix = "https://example.com/loadgen/" + dataset.runId() + "/new/";
+        this.sampler = new ZipfianSampler(codes.length, config.zipfExponent());
+    }
+
+    ZipfianSampler sampler() {
+        return sampler;
+    }
+
+    @Override
+    public Call next(SplittableRandom random) {
+        Operation operation = config.mix().next(random);
+        if (operation == Operation.REDIRECT) {
+            return new Call(operation, api.redirect(codes[sampler.next(random)]));
+        }
+        Account account = accounts.get(random.nextInt(accounts.size()));
+        return switch (operation) {
+            case SHORTEN -> new Call(operation, api.shorten(account.token(), urlPrefix + shortened++));
+            case LIST -> new Call(operation, api.list(account.token(), config.listLimit()));
+            default -> new Call(operation, api.login(account.email(), config.password()),
+                    body -> account.token(api.token(body)));
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.urlshortener.loadgen;
+
+import java.util.List;
+
+/**
+ * What {@link Seeder} created: the users and the codes of their links, shuffled so that popularity
+ * under the Zipfian draw is unrelated to owner or creation order.
+ */
+record Dataset(String runId, List<Account> accounts, String[] codes) {
+}
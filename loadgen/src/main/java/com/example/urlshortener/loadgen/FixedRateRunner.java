@@ -0,0 +1,154 @@
+package com.example.urlshortener.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests at a fixed rate regardless of how fast responses come back (an open-loop
+ * generator). Request {@code i} is scheduled at {@code start + i / rate}; when the server, the
+ * {@code max-in-flight} limit or this thread falls behind, later requests go out late but their
+ * response time is still measured from their schedule, so a stall shows up in the percentiles as
+ * the queueing real users would have seen rather than as a pause in sending.
+ */
+final class FixedRateRunner {
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final LoadConfig config;
+    private final PrintStream out;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Semaphore inFlight;
+    private final AtomicLong maxSendDelayNanos = new AtomicLong();
+
+    /**
+     * Outcome of a run: per-operation statistics for the recorded part, and how far the sending
+     * thread fell behind its own schedule, which bounds how much of the latency came from the
+     * generator rather than the server.
+     */
+    record Result(Map<Operation, OperationStats> stats, Duration recorded, Duration maxSendDelay) {
+    }
+
+    FixedRateRunner(HttpClient httpClient, Workload workload, LoadConfig config, PrintStream out) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.config = config;
+        this.out = out;
+        this.inFlight = new Semaphore(config.maxInFlight());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    Result run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long recordFrom = start + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = config.reportInterval().toNanos();
+        reporter.scheduleAtFixedRate(() -> report(recordFrom),
+                recordFrom + intervalNanos - System.nanoTime(), intervalNanos, TimeUnit.NANOSECONDS);
+        if (!config.warmup().isZero()) {
+            out.printf("Warming up for %ss%n", config.warmup().toSeconds());
+        }
+        try {
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * nanosPerRequest);
+                if (scheduled >= end) {
+                    break;
+                }
+                waitUntil(scheduled);
+                send(workload.next(random), scheduled, scheduled >= recordFrom);
+            }
+            if (!inFlight.tryAcquire(config.maxInFlight(), config.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1),
+                    TimeUnit.NANOSECONDS)) {
+                out.println("Warning: some requests were still outstanding when the run ended");
+            }
+        } finally {
+            reporter.shutdownNow();
+            reporter.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.collectInterval();
+        }
+        return new Result(Collections.unmodifiableMap(stats), config.duration(),
+                Duration.ofNanos(maxSendDelayNanos.get()));
+    }
+
+    private void send(Workload.Call call, long scheduled, boolean recorded) throws InterruptedException {
+        inFlight.acquire();
+        long sent = System.nanoTime();
+        if (recorded) {
+            maxSendDelayNanos.accumulateAndGet(sent - scheduled, Math::max);
+        }
+        OperationStats operationStats = stats.get(call.operation());
+        try {
+            httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        inFlight.release();
+                        boolean success = error == null && call.operation().isSuccess(response.statusCode());
+                        if (recorded) {
+                            operationStats.record(scheduled, sent, done);
+                            if (error != null) {
+                                operationStats.fail(error instanceof CompletionException && error.getCause() != null
+                                        ? error.getCause() : error);
+                            } else if (!success) {
+                                operationStats.fail(response.statusCode());
+                            }
+                        }
+                        if (success) {
+                            call.onSuccess().accept(response.body());
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            if (recorded) {
+                operationStats.fail(ex);
+            }
+        }
+    }
+
+    private void report(long recordFrom) {
+        Histogram interval = new Histogram(3);
+        long failures = 0;
+        for (OperationStats operationStats : stats.values()) {
+            interval.add(operationStats.collectInterval());
+            failures += operationStats.failureCount();
+        }
+        out.printf("%6.0fs  %8d req  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  failures so far %d%n",
+                (System.nanoTime() - recordFrom) / 1e9,
+                interval.getTotalCount(),
+                interval.getValueAtPercentile(50) / 1e3,
+                interval.getValueAtPercentile(99) / 1e3,
+                interval.getMaxValue() / 1e3,
+                failures);
+    }
+
+    private static void waitUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.urlshortener.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Prints the end-of-run percentile tables and writes each histogram as an HdrHistogram
+ * percentile distribution ({@code .hgrm}, in milliseconds), which the HdrHistogram plotter and most
+ * latency tooling read directly.
+ */
+final class LatencyReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final FixedRateRunner.Result result;
+
+    LatencyReport(FixedRateRunner.Result result) {
+        this.result = result;
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.println("Response time (ms), from each request's scheduled start; corrected for coordinated omission:");
+        table(out, OperationStats::totalResponseTime, true);
+        out.println();
+        out.println("Service time (ms), from when each request was actually sent; not corrected, for comparison:");
+        table(out, OperationStats::totalServiceTime, false);
+        double sendDelayMillis = result.maxSendDelay().toNanos() / 1e6;
+        if (sendDelayMillis >= 1) {
+            out.printf("%nRequests went out up to %.1f ms behind schedule (server stalls or --max-in-flight);"
+                    + " response times include that wait.%n", sendDelayMillis);
+        }
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+            Histogram responseTime = entry.getValue().totalResponseTime();
+            if (responseTime.getTotalCount() == 0) {
+                continue;
+            }
+            String name = entry.getKey().label();
+            write(directory.resolve(name + ".hgrm"), responseTime);
+            write(directory.resolve(name + "-service.hgrm"), entry.getValue().totalServiceTime());
+        }
+        write(directory.resolve("all.hgrm"), merged(OperationStats::totalResponseTime));
+    }
+
+    private void table(PrintStream out, Function<OperationStats, Histogram> histogram, boolean withCounts) {
+        out.printf("%-10s %10s %9s %9s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "failed", "req/s",
+                "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+            Histogram values = histogram.apply(entry.getValue());
+            if (values.getTotalCount() > 0) {
+                row(out, entry.getKey().label(), values, entry.getValue().failureCount(), withCounts);
+            }
+        }
+        long failed = result.stats().values().stream().mapToLong(OperationStats::failureCount).sum();
+        row(out, "all", merged(histogram), failed, withCounts);
+        if (withCounts) {
+            result.stats().forEach((operation, stats) -> {
+                if (stats.failureCount() > 0) {
+                    out.printf("  %s failures: %s%n", operation.label(), stats.failures());
+                }
+            });
+        }
+    }
+
+    private void row(PrintStream out, String label, Histogram values, long failed, boolean withCounts) {
+        out.printf("%-10s %10s %9s %9s", label,
+                withCounts ? Long.toString(values.getTotalCount()) : "",
+                withCounts ? Long.toString(failed) : "",
+                withCounts ? String.format("%.1f", values.getTotalCount() / (result.recorded().toNanos() / 1e9)) : "");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", values.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        out.printf(" %9.2f%n", values.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private Histogram merged(Function<OperationStats, Histogram> histogram) {
+        Histogram merged = new Histogram(3);
+        for (OperationStats stats : result.stats().values()) {
+            merged.add(histogram.apply(stats));
+        }
+        return merged;
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.urlshortener.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command line options, given as {@code --name=value}. Durations take the same {@code 500ms},
+ * {@code 10s}, {@code 5m}, {@code 1h} form as the application's settings.
+ */
+record LoadConfig(
+        URI baseUrl,
+        URI redirectUrl,
+        int users,
+        int links,
+        String password,
+        int seedConcurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        OperationMix mix,
+        double zipfExponent,
+        int listLimit,
+        int maxInFlight,
+        Duration timeout,
+        Duration reportInterval,
+        long seed,
+        Path output) {
+
+    static final String USAGE = """
+            Options (--name=value):
+              --base-url          API base URL                            (default http://localhost:8080)
+              --redirect-url      Base URL for /r/{code}, e.g. redirect-reactive (default --base-url)
+              --users             Users registered before the run         (default 10)
+              --links             Links shortened before the run          (default 10000)
+              --password          Password of the seeded users            (default loadgen-password)
+              --seed-concurrency  Parallel requests while seeding         (default 4)
+              --rate              Requests started per second             (default 1000)
+              --warmup            Run time before recording starts        (default 10s)
+              --duration          Recorded run time                       (default 60s)
+              --mix               Operation weights                       (default redirect=90,shorten=5,list=4,login=1)
+              --zipf-exponent     Skew of redirect codes, 0 is uniform    (default 0.99)
+              --list-limit        Page size of list requests              (default 20)
+              --max-in-flight     Outstanding requests before the sender waits (default 1000)
+              --timeout           Per-request timeout                     (default 10s)
+              --report-interval   Progress line interval                  (default 5s)
+              --seed              Random seed for codes and operations    (default 42)
+              --output            Directory for .hgrm percentile files    (default target/loadgen)
+            """;
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m|h|d)");
+
+    LoadConfig {
+        requirePositive("users", users);
+        requirePositive("links", links);
+        requirePositive("seed-concurrency", seedConcurrency);
+        requirePositive("list-limit", listLimit);
+        requirePositive("max-in-flight", maxInFlight);
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (zipfExponent < 0) {
+            throw new IllegalArgumentException("--zipf-exponent must not be negative");
+        }
+        if (duration.isZero() || reportInterval.isZero() || timeout.isZero()) {
+            throw new IllegalArgumentException("--duration, --report-interval and --timeout must be positive");
+        }
+    }
+
+    static LoadConfig parse(String... args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        URI baseUrl = URI.create(stripSlash(take(options, "base-url", "http://localhost:8080")));
+        LoadConfig config = new LoadConfig(
+                baseUrl,
+                URI.create(stripSlash(take(options, "redirect-url", baseUrl.toString()))),
+                Integer.parseInt(take(options, "users", "10")),
+                Integer.parseInt(take(options, "links", "10000")),
+                take(options, "password", "loadgen-password"),
+                Integer.parseInt(take(options, "seed-concurrency", "4")),
+                Double.parseDouble(take(options, "rate", "1000")),
+                parseDuration(take(options, "warmup", "10s")),
+                parseDuration(take(options, "duration", "60s")),
+                OperationMix.parse(take(options, "mix", "redirect=90,shorten=5,list=4,login=1")),
+                Double.parseDouble(take(options, "zipf-exponent", "0.99")),
+                Integer.parseInt(take(options, "list-limit", "20")),
+                Integer.parseInt(take(options, "max-in-flight", "1000")),
+                parseDuration(take(options, "timeout", "10s")),
+                parseDuration(take(options, "report-interval", "5s")),
+                Long.parseLong(take(options, "seed", "42")),
+                Path.of(take(options, "output", "target/loadgen")));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        return config;
+    }
+
+    static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Expected a duration such as 500ms, 30s or 5m but got " + value);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static void requirePositive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.urlshortener.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+
+/**
+ * Seeds users and links through the API, then drives the configured operation mix at a fixed
+ * arrival rate and reports coordinated-omission-corrected latency percentiles. See
+ * {@link LoadConfig#USAGE} for the options.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        PrintStream out = System.out;
+        if (args.length == 1 && args[0].equals("--help")) {
+            out.print(LoadConfig.USAGE);
+            return;
+        }
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.print(LoadConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(config.timeout())
+                .build();
+        ApiClient api = new ApiClient(httpClient, config);
+        Dataset dataset = new Seeder(api, config, out).seed();
+        ApiWorkload workload = new ApiWorkload(api, config, dataset);
+
+        out.printf("Running %s at %.0f req/s for %ss against %s (redirects: %s, top 1%% of %d codes get %.0f%% of them)%n",
+                config.mix(), config.rate(), config.duration().toSeconds(), config.baseUrl(), config.redirectUrl(),
+                dataset.codes().length, 100 * workload.sampler().topShare(Math.max(1, dataset.codes().length / 100)));
+        FixedRateRunner.Result result = new FixedRateRunner(httpClient, workload, config, out).run();
+
+        LatencyReport report = new LatencyReport(result);
+        report.print(out);
+        report.write(config.output());
+        out.printf("%nPercentile distributions written to %s%n", config.output().toAbsolutePath());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.urlshortener.loadgen;
+
+import java.util.Locale;
+
+/**
+ * The requests a run mixes, with the statuses that count as success for each.
+ */
+enum Operation {
+
+    /** {@code GET /r/{code}} for a seeded code. */
+    REDIRECT,
+    /** {@code POST /api/shorten} for a new URL as a seeded user. */
+    SHORTEN,
+    /** {@code GET /api/urls} for the first page of a seeded user's links. */
+    LIST,
+    /** {@code POST /api/login} as a seeded user. */
+    LOGIN;
+
+    boolean isSuccess(int status) {
+        return this == REDIRECT ? status == 301 || status == 302 : status == 200;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
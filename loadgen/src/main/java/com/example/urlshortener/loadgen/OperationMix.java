@@ -0,0 +1,73 @@
+package com.example.urlshortener.loadgen;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative weights of the operations in a run, parsed from {@code redirect=90,shorten=5,...}.
+ * Operations left out get no traffic.
+ */
+final class OperationMix {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final Map<Operation, Integer> weights;
+    private final int[] cumulative = new int[OPERATIONS.length];
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        int sum = 0;
+        for (Operation operation : OPERATIONS) {
+            sum += weights.getOrDefault(operation, 0);
+            cumulative[operation.ordinal()] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        this.total = sum;
+    }
+
+    static OperationMix parse(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix but got " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("--mix weights must not be negative");
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation next(SplittableRandom random) {
+        int pick = random.nextInt(total);
+        for (Operation operation : OPERATIONS) {
+            if (pick < cumulative[operation.ordinal()]) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    boolean includes(Operation operation) {
+        return weights.getOrDefault(operation, 0) > 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (weight > 0) {
+                sb.append(sb.isEmpty() ? "" : ",").append(operation.label()).append('=').append(weight);
+            }
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.urlshortener.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one operation, in microseconds. Response time runs from when the
+ * request was scheduled to start, so time spent queued behind a slow response counts against the
+ * run (coordinated omission correction); service time runs from when it was actually sent.
+ */
+final class OperationStats {
+
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final Histogram totalResponseTime = new Histogram(3);
+    private final Histogram totalServiceTime = new Histogram(3);
+    private final ConcurrentMap<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private Histogram intervalResponseTime;
+    private Histogram intervalServiceTime;
+
+    void record(long scheduledNanos, long sentNanos, long doneNanos) {
+        responseTime.recordValue(Math.max(0, doneNanos - scheduledNanos) / 1_000);
+        serviceTime.recordValue(Math.max(0, doneNanos - sentNanos) / 1_000);
+    }
+
+    void fail(int status) {
+        failures.computeIfAbsent(Integer.toString(status), key -> new LongAdder()).increment();
+    }
+
+    void fail(Throwable error) {
+        String reason = error instanceof HttpTimeoutException ? "timeout" : error.getClass().getSimpleName();
+        failures.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the run totals and returns it as the
+     * response time histogram of that interval.
+     */
+    synchronized Histogram collectInterval() {
+        intervalResponseTime = responseTime.getIntervalHistogram(intervalResponseTime);
+        intervalServiceTime = serviceTime.getIntervalHistogram(intervalServiceTime);
+        totalResponseTime.add(intervalResponseTime);
+        totalServiceTime.add(intervalServiceTime);
+        return intervalResponseTime;
+    }
+
+    synchronized Histogram totalResponseTime() {
+        return totalResponseTime.copy();
+    }
+
+    synchronized Histogram totalServiceTime() {
+        return totalServiceTime.copy();
+    }
+
+    long failureCount() {
+        return failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Failures by status code or exception, e.g. {@code 429=12, timeout=3}.
+     */
+    Map<String, Long> failures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((reason, count) -> counts.put(reason, count.sum()));
+        return counts;
+    }
+}
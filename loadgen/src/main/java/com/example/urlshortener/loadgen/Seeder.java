@@ -0,0 +1,97 @@
+package com.example.urlshortener.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the run's users through {@code POST /api/register} and its links through
+ * {@code POST /api/shorten/batch}, spread evenly over the users. Emails and URLs carry a per-run id,
+ * so repeated runs against the same database do not collide.
+ */
+final class Seeder {
+
+    /** Links per batch request; well under the API's limit of 5000. */
+    static final int BATCH_SIZE = 1000;
+
+    private final ApiClient api;
+    private final LoadConfig config;
+    private final PrintStream out;
+
+    Seeder(ApiClient api, LoadConfig config, PrintStream out) {
+        this.api = api;
+        this.config = config;
+        this.out = out;
+    }
+
+    Dataset seed() throws IOException, InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long started = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(config.seedConcurrency());
+        try {
+            List<Future<Account>> registrations = new ArrayList<>(config.users());
+            for (int i = 0; i < config.users(); i++) {
+                String email = "loadgen-" + runId + "-" + i + "@example.com";
+                registrations.add(pool.submit(() -> new Account(email,
+                        api.token(api.sendForBody(api.register(email, config.password()))))));
+            }
+            List<Account> accounts = new ArrayList<>(config.users());
+            for (Future<Account> registration : registrations) {
+                accounts.add(await(registration));
+            }
+
+            List<Future<List<String>>> batches = new ArrayList<>();
+            for (int from = 0, batch = 0; from < config.links(); from += BATCH_SIZE, batch++) {
+                Account owner = accounts.get(batch % accounts.size());
+                List<String> urls = new ArrayList<>(BATCH_SIZE);
+                for (int i = from; i < Math.min(from + BATCH_SIZE, config.links()); i++) {
+                    urls.add("https://example.com/loadgen/" + runId + "/" + i);
+                }
+                batches.add(pool.submit(() -> api.createdCodes(api.sendForBody(api.shortenBatch(owner.token(), urls)))));
+            }
+            List<String> codes = new ArrayList<>(config.links());
+            for (Future<List<String>> batch : batches) {
+                codes.addAll(await(batch));
+            }
+            if (codes.isEmpty()) {
+                throw new IOException("No links were created; check the application log");
+            }
+            if (codes.size() < config.links()) {
+                out.printf("Warning: only %d of %d links were created%n", codes.size(), config.links());
+            }
+            out.printf("Seeded %d users and %d links in %.1fs (run id %s)%n",
+                    accounts.size(), codes.size(), (System.nanoTime() - started) / 1e9, runId);
+            return new Dataset(runId, List.copyOf(accounts), shuffle(codes, new SplittableRandom(config.seed())));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String[] shuffle(List<String> codes, SplittableRandom random) {
+        String[] shuffled = codes.toArray(String[]::new);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        return shuffled;
+    }
+
+    private static <T> T await(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Seeding failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.urlshortener.loadgen;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Produces the next request of a run. Called from the single sending thread, so implementations
+ * need not be thread-safe, but {@link Call#onSuccess} runs on HTTP client threads.
+ */
+interface Workload {
+
+    Call next(SplittableRandom random);
+
+    /**
+     * One request to send, and what to do with the body of a successful response.
+     */
+    record Call(Operation operation, HttpRequest request, Consumer<String> onSuccess) {
+
+        Call(Operation operation, HttpRequest request) {
+            this(operation, request, body -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.urlshortener.loadgen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}, so a
+ * few hot items take most of the draws, as with real short links. An exponent of 0 is uniform; YCSB
+ * uses 0.99. Keeps the cumulative distribution in memory (8 bytes per item) and samples it by binary
+ * search, which is exact for any exponent.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipfian sampler needs at least one item");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        cumulative[n - 1] = 1;
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Share of draws that land on the {@code k} most popular items.
+     */
+    double topShare(int k) {
+        return k <= 0 ? 0 : cumulative[Math.min(k, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.urlshortener.loadgen;
+
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedRateRunnerTest {
+
+    private final HttpServer server = server();
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void chargesAServerStallToTheRequestsScheduledDuringIt() throws Exception {
+        // One request at a time, as a closed-loop tool would send them: while the 50th stalls for
+        // 500 ms, the next ~50 scheduled requests cannot go out.
+        LoadConfig config = LoadConfig.parse("--rate=100", "--warmup=0s", "--duration=2s",
+                "--max-in-flight=1", "--report-interval=1h", "--mix=redirect=1");
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/r/abc1234");
+        Workload workload = random -> new Workload.Call(Operation.REDIRECT, HttpRequest.newBuilder(uri).build());
+
+        FixedRateRunner.Result result = new FixedRateRunner(HttpClient.newHttpClient(), workload, config,
+                new PrintStream(new ByteArrayOutputStream())).run();
+
+        OperationStats redirects = result.stats().get(Operation.REDIRECT);
+        Histogram responseTime = redirects.totalResponseTime();
+        Histogram serviceTime = redirects.totalServiceTime();
+        assertThat(responseTime.getTotalCount()).isEqualTo(200);
+        assertThat(redirects.failureCount()).isZero();
+        // Only the stalled request itself was slow once sent...
+        assertThat(serviceTime.getValueAtPercentile(90)).isLessThan(100_000);
+        assertThat(serviceTime.getMaxValue()).isGreaterThanOrEqualTo(500_000);
+        // ...but every request scheduled during the stall waited for it.
+        assertThat(responseTime.getValueAtPercentile(90)).isGreaterThan(200_000);
+        assertThat(result.maxSendDelay().toMillis()).isGreaterThanOrEqualTo(400);
+    }
+
+    private static HttpServer server() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            AtomicInteger requests = new AtomicInteger();
+            server.createContext("/r/", exchange -> {
+                if (requests.incrementAndGet() == 50) {
+                    sleep(500);
+                }
+                exchange.getResponseHeaders().add("Location", "https://example.com/");
+                exchange.sendResponseHeaders(302, -1);
+                exchange.close();
+            });
+            server.setExecutor(Executors.newSingleThreadExecutor());
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
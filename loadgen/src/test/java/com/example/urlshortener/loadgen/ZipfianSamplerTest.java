@@ -0,0 +1,43 @@
+package com.example.urlshortener.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfianSamplerTest {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void hotRanksTakeTheirZipfianShare() {
+        ZipfianSampler sampler = new ZipfianSampler(100, 1.0);
+        int[] counts = draw(sampler, 100);
+
+        // 1 / H(100) and 1 / (2 * H(100)), with H(100) = 5.187
+        assertThat(counts[0] / (double) DRAWS).isCloseTo(0.193, within(0.01));
+        assertThat(counts[1] / (double) DRAWS).isCloseTo(0.096, within(0.01));
+        assertThat(sampler.topShare(10)).isCloseTo(2.929 / 5.187, within(0.001));
+        assertThat(sampler.topShare(100)).isEqualTo(1.0);
+    }
+
+    @Test
+    void exponentZeroIsUniform() {
+        int[] counts = draw(new ZipfianSampler(10, 0), 10);
+
+        for (int count : counts) {
+            assertThat(count / (double) DRAWS).isCloseTo(0.1, within(0.01));
+        }
+    }
+
+    private static int[] draw(ZipfianSampler sampler, int n) {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[n];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[sampler.next(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.urlshortener.domain;
+
+/**
+ * Format of a short code: base62 alphabet, at most 16 characters (the {@code short_urls.code} column).
+ * Both redirect paths reject anything else before touching the cache or the database.
+ */
+public final class CodeRules {
+
+    public static final int MAX_LENGTH = 16;
+
+    private CodeRules() {
+    }
+
+    public static boolean isValidCode(CharSequence value) {
+        return isValidCode(value, 0, value.length());
+    }
+
+    /**
+     * Checks {@code value[start, end)} against the code alphabet and column length without allocating.
+     */
+    public static boolean isValidCode(CharSequence value, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.urlshortener.domain;
+
+/**
+ * Answer to a redirect for an active code. The {@code Cache-Control} and {@code ETag} values are
+ * built once when the target is loaded, so cached targets cost no formatting per request.
+ */
+public record RedirectTarget(String url, RedirectType redirectType, int maxAgeSeconds, String cacheControl,
+                             String etag) {
+
+    public RedirectTarget(String url, RedirectType redirectType, int maxAgeSeconds) {
+        this(url, redirectType, maxAgeSeconds, cacheControl(maxAgeSeconds), etag(url, redirectType, maxAgeSeconds));
+    }
+
+    public int status() {
+        return redirectType == RedirectType.PERMANENT ? 301 : 302;
+    }
+
+    private static String cacheControl(int maxAgeSeconds) {
+        return maxAgeSeconds > 0 ? "public, max-age=" + maxAgeSeconds : "no-cache";
+    }
+
+    // FNV-1a over everything the response depends on; changes whenever the target or policy does.
+    private static String etag(String url, RedirectType redirectType, int maxAgeSeconds) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < url.length(); i++) {
+            hash = (hash ^ url.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (redirectType == RedirectType.PERMANENT ? 301 : 302)) * 0x100000001b3L;
+        hash = (hash ^ maxAgeSeconds) * 0x100000001b3L;
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
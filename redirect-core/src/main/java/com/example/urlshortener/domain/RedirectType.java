@@ -0,0 +1,9 @@
+package com.example.urlshortener.domain;
+
+/**
+ * How a short link redirects: {@code PERMANENT} answers 301, {@code TEMPORARY} answers 302.
+ */
+public enum RedirectType {
+    PERMANENT,
+    TEMPORARY
+}
@@ -0,0 +1,147 @@
+package com.example.urlshortener.redirect;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Evicts cached targets for codes changed on the MVC nodes, read from the {@code link_changes} outbox
+ * they write with {@code app.link-changes.bus=outbox}, so a deactivation stops redirecting here within
+ * about one {@code poll-interval}. With the default in-memory bus nothing is written there, and cached
+ * targets are only refreshed when their TTL runs out.
+ *
+ * <p>Reads follow the same rules as the MVC nodes' {@code OutboxLinkChangeBus}: rows after the highest
+ * id seen, with skipped ids re-read for up to {@code gap-timeout} in case they commit late. Polls run
+ * one at a time, so the cursor and gaps need no locking.
+ */
+@Component
+@ConditionalOnProperty(name = "app.link-changes.enabled", havingValue = "true", matchIfMissing = true)
+public class LinkChangeSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkChangeSubscriber.class);
+
+    private static final String POLL_SQL = "select id, code from link_changes where id > :lastId order by id limit :limit";
+    private static final String GAPS_SQL = "select id, code from link_changes where id in (:ids)";
+    private static final String MAX_ID_SQL = "select coalesce(max(id), 0) from link_changes";
+
+    private static final int MAX_OPEN_GAPS = 10_000;
+
+    private final DatabaseClient databaseClient;
+    private final RedirectHandler redirectHandler;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    // id -> System.nanoTime() deadline.
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastId = -1;
+    private Disposable polling;
+
+    private record Row(long id, String code) {
+    }
+
+    public LinkChangeSubscriber(
+            DatabaseClient databaseClient,
+            RedirectHandler redirectHandler,
+            @Value("${app.link-changes.poll-interval}") Duration pollInterval,
+            @Value("${app.link-changes.batch-size}") int batchSize,
+            @Value("${app.link-changes.gap-timeout}") Duration gapTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Link change batch size must be positive");
+        }
+        this.databaseClient = databaseClient;
+        this.redirectHandler = redirectHandler;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        polling = Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(ex -> {
+                            log.warn("Polling link changes failed, retrying on next poll", ex);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    Mono<Void> poll() {
+        return Mono.defer(() -> {
+            if (lastId < 0) {
+                // Start from the current end: a starting instance has no cached state to correct.
+                return databaseClient.sql(MAX_ID_SQL)
+                        .map((row, metadata) -> row.get(0, Long.class))
+                        .one()
+                        .doOnNext(id -> lastId = id)
+                        .then();
+            }
+            return recheckGaps().then(Mono.defer(this::readBatch)
+                    .repeat()
+                    .takeUntil(count -> count < batchSize)
+                    .then());
+        });
+    }
+
+    private Mono<Long> readBatch() {
+        return databaseClient.sql(POLL_SQL)
+                .bind("lastId", lastId)
+                .bind("limit", batchSize)
+                .map((row, metadata) -> new Row(row.get("id", Long.class), row.get("code", String.class)))
+                .all()
+                .doOnNext(row -> {
+                    for (long skipped = lastId + 1; skipped < row.id() && gaps.size() < MAX_OPEN_GAPS; skipped++) {
+                        gaps.put(skipped, System.nanoTime() + gapTimeoutNanos);
+                    }
+                    redirectHandler.evict(row.code());
+                    lastId = row.id();
+                })
+                .count();
+    }
+
+    private Mono<Void> recheckGaps() {
+        if (gaps.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(GAPS_SQL)
+                .bind("ids", List.copyOf(gaps.keySet()))
+                .map((row, metadata) -> new Row(row.get("id", Long.class), row.get("code", String.class)))
+                .all()
+                .doOnNext(row -> {
+                    gaps.remove(row.id());
+                    redirectHandler.evict(row.code());
+                })
+                .then(Mono.fromRunnable(() -> {
+                    long now = System.nanoTime();
+                    for (Iterator<Entry<Long, Long>> it = gaps.entrySet().iterator(); it.hasNext(); ) {
+                        if (now - it.next().getValue() >= 0) {
+                            it.remove();
+                        }
+                    }
+                }));
+    }
+}
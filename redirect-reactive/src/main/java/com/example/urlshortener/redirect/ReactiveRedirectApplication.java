@@ -0,0 +1,12 @@
+package com.example.urlshortener.redirect;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveRedirectApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveRedirectApplication.class, args);
+    }
+}
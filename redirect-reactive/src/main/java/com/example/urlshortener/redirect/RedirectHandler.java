@@ -0,0 +1,119 @@
+package com.example.urlshortener.redirect;
+
+import com.example.urlshortener.domain.CodeRules;
+import com.example.urlshortener.domain.RedirectTarget;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves {@code /r/{code}} without blocking: lookups go through an async Caffeine cache whose
+ * loader is the R2DBC query, with the same positive/negative TTL semantics as the MVC application.
+ * Responses carry the same status, {@code Cache-Control} and {@code ETag} as the MVC redirect filter.
+ */
+@Component
+public class RedirectHandler {
+
+    private final RedirectTargetRepository repository;
+    private final AsyncCache<String, Optional<RedirectTarget>> cache;
+
+    public RedirectHandler(
+            RedirectTargetRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${app.redirect-cache.max-size}") long maxSize,
+            @Value("${app.redirect-cache.ttl}") Duration ttl,
+            @Value("${app.redirect-cache.negative-ttl}") Duration negativeTtl) {
+        this.repository = repository;
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<RedirectTarget>>() {
+                    @Override
+                    public long expireAfterCreate(String code, Optional<RedirectTarget> target, long currentTime) {
+                        return target.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String code, Optional<RedirectTarget> target, long currentTime,
+                                                  long currentDuration) {
+                        return target.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String code, Optional<RedirectTarget> target, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "redirect");
+    }
+
+    public Mono<ServerResponse> redirect(ServerRequest request) {
+        String code = request.pathVariable("code");
+        if (!CodeRules.isValidCode(code)) {
+            return ServerResponse.notFound().build();
+        }
+        // The cached future is shared by every request for the code, so one client going away must
+        // not cancel it for the others.
+        return Mono.fromFuture(cache.get(code, (key, executor) -> repository.findActiveTarget(key)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture()), true)
+                .flatMap(target -> target
+                        .map(found -> respond(request, found))
+                        .orElseGet(() -> ServerResponse.notFound().build()));
+    }
+
+    /**
+     * Drops the cached answer for a changed code, including a lookup still in flight, so the next
+     * request reads the committed row.
+     */
+    public void evict(String code) {
+        cache.synchronous().invalidate(code);
+    }
+
+    private static Mono<ServerResponse> respond(ServerRequest request, RedirectTarget target) {
+        if (notModified(request.headers().header(HttpHeaders.IF_NONE_MATCH), target.etag())) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                    .header(HttpHeaders.CACHE_CONTROL, target.cacheControl())
+                    .eTag(target.etag())
+                    .build();
+        }
+        return ServerResponse.status(target.status())
+                .header(HttpHeaders.CACHE_CONTROL, target.cacheControl())
+                .eTag(target.etag())
+                .header(HttpHeaders.LOCATION, target.url())
+                .build();
+    }
+
+    private static boolean notModified(List<String> ifNoneMatch, String etag) {
+        for (String value : ifNoneMatch) {
+            for (String candidate : value.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
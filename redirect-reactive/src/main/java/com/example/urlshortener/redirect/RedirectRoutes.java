@@ -0,0 +1,19 @@
+package com.example.urlshortener.redirect;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+public class RedirectRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> redirectRoute(RedirectHandler redirectHandler) {
+        return RouterFunctions.route(
+                RequestPredicates.GET("/r/{code}").or(RequestPredicates.HEAD("/r/{code}")),
+                redirectHandler::redirect);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.urlshortener.redirect;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class RedirectTargetRepository {
+
+    private static final String FIND_ACTIVE_SQL =
+            "select original_url, redirect_type, cache_max_age from short_urls where code = :code and active = true";
+
+    private final DatabaseClient databaseClient;
+
+    public RedirectTargetRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<RedirectTarget> findActiveTarget(String code) {
+        return databaseClient.sql(FIND_ACTIVE_SQL)
+                .bind("code", code)
+                .map((row, metadata) -> new RedirectTarget(
+                        row.get("original_url", String.class),
+                        RedirectType.valueOf(row.get("redirect_type", String.class)),
+                        row.get("cache_max_age", Integer.class)))
+                .one();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.urlshortener.redirect;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class LinkChangeSubscriberTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private LinkChangeSubscriber subscriber;
+
+    @BeforeEach
+    void seed() {
+        databaseClient.sql("delete from short_urls").then().block();
+        // Each test uses its own code: the redirect cache outlives the rows.
+        insert("chg1234");
+        insert("gap1234");
+        subscriber.poll().block();
+    }
+
+    @Test
+    void deactivationInOutboxEvictsCachedTarget() {
+        webTestClient.get().uri("/r/chg1234").exchange().expectStatus().isFound();
+        deactivate("chg1234");
+
+        // More rows than one batch, with the change last.
+        long maxId = maxChangeId();
+        publish(maxId + 1, "other01");
+        publish(maxId + 2, "other02");
+        publish(maxId + 3, "chg1234");
+        webTestClient.get().uri("/r/chg1234").exchange().expectStatus().isFound();
+
+        subscriber.poll().block();
+        webTestClient.get().uri("/r/chg1234").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void changeCommittedBehindLaterIdIsStillApplied() {
+        webTestClient.get().uri("/r/gap1234").exchange().expectStatus().isFound();
+        deactivate("gap1234");
+
+        long maxId = maxChangeId();
+        publish(maxId + 2, "other01");
+        subscriber.poll().block();
+        webTestClient.get().uri("/r/gap1234").exchange().expectStatus().isFound();
+
+        publish(maxId + 1, "gap1234");
+        subscriber.poll().block();
+        webTestClient.get().uri("/r/gap1234").exchange().expectStatus().isNotFound();
+    }
+
+    private void insert(String code) {
+        databaseClient.sql("insert into short_urls (id, code, original_url, active) values (:id, :code, 'https://example.com', true)")
+                .bind("id", UUID.randomUUID())
+                .bind("code", code)
+                .then()
+                .block();
+    }
+
+    private void deactivate(String code) {
+        databaseClient.sql("update short_urls set active = false where code = :code")
+                .bind("code", code)
+                .then()
+                .block();
+    }
+
+    // Explicit ids: H2's identity does not skip past explicitly inserted ones.
+    private long maxChangeId() {
+        return databaseClient.sql("select coalesce(max(id), 0) from link_changes")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private void publish(long id, String code) {
+        databaseClient.sql("insert into link_changes (id, code, change_type, origin, created_at)"
+                        + " values (:id, :code, 'DEACTIVATED', :origin, :createdAt)")
+                .bind("id", id)
+                .bind("code", code)
+                .bind("origin", UUID.randomUUID())
+                .bind("createdAt", OffsetDateTime.now())
+                .then()
+                .block();
+    }
+}
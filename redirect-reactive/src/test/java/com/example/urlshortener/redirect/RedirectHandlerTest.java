@@ -0,0 +1,43 @@
+package com.example.urlshortener.redirect;
+
+import com.example.urlshortener.domain.RedirectTarget;
+import com.example.urlshortener.domain.RedirectType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedirectHandlerTest {
+
+    @Test
+    void aCancelledRequestDoesNotFailOthersWaitingOnTheSameLookup() {
+        Sinks.One<RedirectTarget> lookup = Sinks.one();
+        RedirectTargetRepository repository = new RedirectTargetRepository(null) {
+            @Override
+            public Mono<RedirectTarget> findActiveTarget(String code) {
+                return lookup.asMono();
+            }
+        };
+        RedirectHandler handler = new RedirectHandler(repository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofSeconds(30));
+        MockServerRequest request = MockServerRequest.builder().pathVariable("code", "abc1234").build();
+
+        StepVerifier.create(handler.redirect(request))
+                .then(() -> {
+                    // Another client for the same code disconnects while the lookup is in flight.
+                    Disposable abandoned = handler.redirect(request).subscribe();
+                    abandoned.dispose();
+                    lookup.tryEmitValue(new RedirectTarget("https://example.com/", RedirectType.TEMPORARY, 0));
+                })
+                .assertNext(response -> assertThat(response.statusCode()).isEqualTo(HttpStatus.FOUND))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.urlshortener.redirect;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.UUID;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class RedirectRoutesTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void seed() {
+        databaseClient.sql("delete from short_urls").then().block();
+        insert("abc1234", "https://example.com/active", true);
+        insert("off1234", "https://example.com/inactive", false);
+        databaseClient.sql("insert into short_urls (id, code, original_url, active, redirect_type, cache_max_age)"
+                        + " values (:id, 'perm123', 'https://example.com/permanent', true, 'PERMANENT', 3600)")
+                .bind("id", UUID.randomUUID())
+                .then()
+                .block();
+    }
+
+    @Test
+    void redirectsActiveCode() {
+        webTestClient.get().uri("/r/abc1234")
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "https://example.com/active");
+
+        webTestClient.head().uri("/r/abc1234")
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "https://example.com/active");
+    }
+
+    @Test
+    void permanentCodesAreCacheableAndRevalidate() {
+        String etag = webTestClient.get().uri("/r/perm123")
+                .exchange()
+                .expectStatus().isEqualTo(301)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "public, max-age=3600")
+                .expectHeader().valueEquals(HttpHeaders.LOCATION, "https://example.com/permanent")
+                .returnResult(Void.class).getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/r/perm123")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().doesNotExist(HttpHeaders.LOCATION);
+
+        webTestClient.get().uri("/r/abc1234")
+                .exchange()
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+
+    @Test
+    void unknownInactiveAndMalformedCodesAreNotFound() {
+        webTestClient.get().uri("/r/missing1").exchange().expectStatus().isNotFound().expectBody().isEmpty();
+        webTestClient.get().uri("/r/off1234").exchange().expectStatus().isNotFound().expectBody().isEmpty();
+        webTestClient.get().uri("/r/bad-code!").exchange().expectStatus().isNotFound().expectBody().isEmpty();
+    }
+
+    private void insert(String code, String url, boolean active) {
+        databaseClient.sql("insert into short_urls (id, code, original_url, active) values (:id, :code, :url, :active)")
+                .bind("id", UUID.randomUUID())
+                .bind("code", code)
+                .bind("url", url)
+                .bind("active", active)
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,16 @@
+create table if not exists short_urls (
+    id uuid primary key,
+    code varchar(16) not null unique,
+    original_url varchar(2048) not null,
+    active boolean not null,
+    redirect_type varchar(16) default 'TEMPORARY' not null,
+    cache_max_age int default 0 not null
+);
+
+create table if not exists link_changes (
+    id bigint generated by default as identity primary key,
+    code varchar(16) not null,
+    change_type varchar(16) not null,
+    origin uuid not null,
+    created_at timestamp(6) with time zone not null
+);
@@ -1,27 +0,0 @@
-package com.example.urlshortener.dto;
-
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-
-public class ShortenUrlRequest {
-
-    @NotBlank
-    @Size(max = 2048)
-    private String originalUrl;
-
-    public ShortenUrlRequest() {
-    }
-
-    public ShortenUrlRequest(String originalUrl) {
-        this.originalUrl = originalUrl;
-    }
-
-    public String getOriginalUrl() {
-        return originalUrl;
-    }
-
-    public void setOriginalUrl(String originalUrl) {
-        this.originalUrl = originalUrl;
-    }
-}
-
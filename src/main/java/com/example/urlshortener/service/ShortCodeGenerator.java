@@ -1,27 +0,0 @@
-package com.example.urlshortener.service;
-
-import org.springframework.stereotype.Component;
-
-import java.security.SecureRandom;
-
-@Component
-public class ShortCodeGenerator {
-
-    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
-    private static final int DEFAULT_LENGTH = 7;
-
-    private final SecureRandom random = new SecureRandom();
-
-    public String generate() {
-        return generate(DEFAULT_LENGTH);
-    }
-
-    public String generate(int length) {
-        char[] buffer = new char[length];
-        for (int i = 0; i < length; i++) {
-            buffer[i] = ALPHABET[random.nextInt(ALPHABET.length)];
-        }
-        return new String(buffer);
-    }
-}
-